@@ -7,15 +7,18 @@ import graphql.Scalars;
 import graphql.schema.GraphQLAppliedDirective;
 import graphql.schema.GraphQLAppliedDirectiveArgument;
 import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirectiveContainer;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLInputObjectField;
 import graphql.schema.GraphQLInputObjectType;
 import graphql.schema.GraphQLInputType;
 import graphql.schema.GraphQLNamedInputType;
 import graphql.schema.GraphQLScalarType;
 import graphql.schema.GraphQLTypeUtil;
+import graphql.validation.rules.ValidationCursor;
 import graphql.validation.rules.ValidationEnvironment;
-import graphql.validation.util.DirectivesAndTypeWalker;
+import graphql.validation.util.DirectiveNamesIndex;
 import graphql.validation.util.Util;
 
 import java.lang.reflect.Array;
@@ -28,6 +31,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.WeakHashMap;
 
 import static graphql.schema.GraphQLTypeUtil.isList;
 import static graphql.validation.rules.ValidationEnvironment.ValidatedElement.FIELD;
@@ -40,6 +44,7 @@ import static java.util.Collections.singletonList;
 public abstract class AbstractDirectiveConstraint implements DirectiveConstraint {
 
     private final String name;
+    private final Map<GraphQLInputObjectType, Boolean> checkedInputObjectTypes = Collections.synchronizedMap(new WeakHashMap<>());
 
     public AbstractDirectiveConstraint(String name) {
         this.name = name;
@@ -68,31 +73,64 @@ public abstract class AbstractDirectiveConstraint implements DirectiveConstraint
 
     @Override
     public boolean appliesTo(GraphQLArgument argument, GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+        if (!DirectiveNamesIndex.reachableDirectiveNames(argument).contains(getName())) {
+            return false;
+        }
+        assertSuitablyPlaced(argument.getType(), argument.getAppliedDirectives());
+        return true;
+    }
 
-        boolean suitable = new DirectivesAndTypeWalker().isSuitable(argument, (inputType, directive) -> {
-            boolean hasNamedDirective = directive.getName().equals(this.getName());
-            if (hasNamedDirective) {
-                inputType = Util.unwrapNonNull(inputType);
-
-                boolean appliesToType;
-                if (appliesToListElements()) {
-                    appliesToType = appliesToType((GraphQLInputType) GraphQLTypeUtil.unwrapAll(inputType));
-                } else {
-                    appliesToType = appliesToType(inputType);
+    /*
+     * Checks every place our directive can be reached from this input type, so a misplaced directive fails the wiring
+     * of the schema even when a suitable placement of it is met first.  Input object types are only checked once per
+     * constraint and are skipped entirely if our directive cannot be reached from them.
+     */
+    private void assertSuitablyPlaced(GraphQLInputType inputType, List<GraphQLAppliedDirective> directives) {
+        GraphQLInputType unwrappedType = Util.unwrapNonNull(inputType);
+        for (GraphQLAppliedDirective directive : directives) {
+            if (directive.getName().equals(getName())) {
+                assertAppliesTo(unwrappedType);
+            }
+        }
+        if (isList(unwrappedType)) {
+            GraphQLInputType listItemType = Util.unwrapOneAndAllNonNull(unwrappedType);
+            if (listItemType instanceof GraphQLDirectiveContainer) {
+                assertSuitablyPlaced(listItemType, ((GraphQLDirectiveContainer) listItemType).getAppliedDirectives());
+            }
+        }
+        if (unwrappedType instanceof GraphQLInputObjectType) {
+            GraphQLInputObjectType inputObjectType = (GraphQLInputObjectType) unwrappedType;
+            if (!DirectiveNamesIndex.reachableDirectiveNames(inputObjectType).contains(getName())) {
+                return;
+            }
+            if (checkedInputObjectTypes.put(inputObjectType, Boolean.TRUE) != null) {
+                return;
+            }
+            try {
+                for (GraphQLInputObjectField inputField : inputObjectType.getFieldDefinitions()) {
+                    assertSuitablyPlaced(inputField.getType(), inputField.getAppliedDirectives());
                 }
+            } catch (RuntimeException e) {
+                checkedInputObjectTypes.remove(inputObjectType);
+                throw e;
+            }
+        }
+    }
 
-                if (appliesToType) {
-                    return true;
-                }
+    private void assertAppliesTo(GraphQLInputType inputType) {
+        boolean appliesToType;
+        if (appliesToListElements()) {
+            appliesToType = appliesToType((GraphQLInputType) GraphQLTypeUtil.unwrapAll(inputType));
+        } else {
+            appliesToType = appliesToType(inputType);
+        }
 
-                // if they have a @Directive on there BUT it can't handle that type
-                // then is a really bad situation
-                String argType = GraphQLTypeUtil.simplePrint(inputType);
-                Assert.assertTrue(false, () -> format("The directive rule '%s' cannot be placed on elements of type '%s'", "@" + this.getName(), argType));
-            }
-            return false;
-        });
-        return suitable;
+        if (!appliesToType) {
+            // if they have a @Directive on there BUT it can't handle that type
+            // then is a really bad situation
+            String argType = GraphQLTypeUtil.simplePrint(inputType);
+            Assert.assertTrue(false, () -> format("The directive rule '%s' cannot be placed on elements of type '%s'", "@" + this.getName(), argType));
+        }
     }
 
     /**
@@ -130,6 +168,15 @@ public abstract class AbstractDirectiveConstraint implements DirectiveConstraint
         }
 
         GraphQLInputType inputType = Util.unwrapNonNull(validationEnvironment.getValidatedType());
+        if (validationEnvironment instanceof ValidationCursor) {
+            ValidationCursor cursor = (ValidationCursor) validationEnvironment;
+            cursor.pushType(inputType);
+            try {
+                return runValidationImpl(cursor);
+            } finally {
+                cursor.pop();
+            }
+        }
         validationEnvironment = validationEnvironment.transform(b -> b.validatedType(inputType));
 
         return runValidationImpl(validationEnvironment);
@@ -152,10 +199,21 @@ public abstract class AbstractDirectiveConstraint implements DirectiveConstraint
                 continue;
             }
 
-            validationEnvironment = validationEnvironment.transform(b -> b.context(GraphQLAppliedDirective.class, directive));
             //
             // now run the directive rule with this directive instance
-            List<GraphQLError> ruleErrors = this.runConstrainOnPossibleListElements(validationEnvironment);
+            List<GraphQLError> ruleErrors;
+            if (validationEnvironment instanceof ValidationCursor) {
+                ValidationCursor cursor = (ValidationCursor) validationEnvironment;
+                cursor.pushDirective(directive);
+                try {
+                    ruleErrors = this.runConstrainOnPossibleListElements(cursor);
+                } finally {
+                    cursor.pop();
+                }
+            } else {
+                validationEnvironment = validationEnvironment.transform(b -> b.context(GraphQLAppliedDirective.class, directive));
+                ruleErrors = this.runConstrainOnPossibleListElements(validationEnvironment);
+            }
             errors.addAll(ruleErrors);
         }
 
@@ -198,6 +256,40 @@ public abstract class AbstractDirectiveConstraint implements DirectiveConstraint
         return false;
     }
 
+    /**
+     * Returns the compiled form of the directive currently being run, as made by {@link #compileDirective(GraphQLAppliedDirective)}.
+     * The validation plan compiles each directive once up front and this falls back to compiling the
+     * {@link GraphQLAppliedDirective} context object of the environment on the spot if it was not.
+     *
+     * @param validationEnvironment the validation environment
+     * @param <T>                   the type of the compiled directive
+     * @return the compiled directive
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T getCompiledDirective(ValidationEnvironment validationEnvironment) {
+        if (validationEnvironment instanceof ValidationCursor) {
+            Object compiled = ((ValidationCursor) validationEnvironment).getCompiledDirective();
+            if (compiled != null) {
+                return (T) compiled;
+            }
+        }
+        GraphQLAppliedDirective directive = validationEnvironment.getContextObject(GraphQLAppliedDirective.class);
+        Assert.assertNotNull(directive, () -> format("The '@%s' constraint was run without a compiled directive or a '%s' context object",
+                getName(), GraphQLAppliedDirective.class.getSimpleName()));
+        return (T) compileDirective(directive);
+    }
+
+    /**
+     * Returns true if the value is a java integral number that can be compared as a long without
+     * going via {@link java.math.BigDecimal}
+     *
+     * @param value the value to check
+     * @return true if its a Long, Integer, Short or Byte
+     */
+    protected boolean isIntegralNumber(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
     /**
      * Returns an integer argument from a directive (or its default) and throws an assertion if the argument is null
      *
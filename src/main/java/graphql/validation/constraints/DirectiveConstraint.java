@@ -1,6 +1,7 @@
 package graphql.validation.constraints;
 
 import graphql.PublicSpi;
+import graphql.schema.GraphQLAppliedDirective;
 import graphql.validation.rules.ValidationRule;
 
 /**
@@ -22,4 +23,31 @@ public interface DirectiveConstraint extends ValidationRule {
      */
     Documentation getDocumentation();
 
+    /**
+     * This is called once for each applied directive of this constraint when a validation plan is built, so that the
+     * directive arguments can be read and checked up front rather than for every value that is validated.
+     *
+     * @param directive the applied directive of this constraint
+     *
+     * @return an immutable compiled form of the directive or null if the constraint has none
+     */
+    default Object compileDirective(GraphQLAppliedDirective directive) {
+        return null;
+    }
+
+    /**
+     * This tells whether what the constraint finds depends only on the validated value and the arguments of its
+     * directive, and not on the field, its other arguments or the request.  The outcome for a value can then be reused
+     * wherever the same value is validated against the same directives, see
+     * {@link graphql.validation.rules.ValidationRules.Builder#validateEachVariableOnce(boolean)}.
+     * <p>
+     * The standard constraints say so, apart from {@code @Expression} which can look at the field and its arguments and
+     * {@code @Exists} which looks up the value.  A subclass that looks beyond the value must return false.
+     *
+     * @return true if the outcome depends on the validated value alone
+     */
+    default boolean dependsOnValueAlone() {
+        return false;
+    }
+
 }
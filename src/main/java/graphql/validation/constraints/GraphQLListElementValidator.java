@@ -3,7 +3,10 @@ package graphql.validation.constraints;
 import graphql.GraphQLError;
 import graphql.schema.GraphQLInputType;
 import graphql.schema.GraphQLTypeUtil;
+import graphql.validation.rules.ParallelListValidation;
+import graphql.validation.rules.ValidationCursor;
 import graphql.validation.rules.ValidationEnvironment;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -23,6 +26,10 @@ public class GraphQLListElementValidator {
     public List<GraphQLError> runConstraintOnListElements(ValidationEnvironment validationEnvironment, Function<ValidationEnvironment, List<GraphQLError>> runConstraintOnElement) {
         Object validatedValue = validationEnvironment.getValidatedValue();
 
+        if (validatedValue instanceof Collection<?> && validationEnvironment instanceof ValidationCursor) {
+            return runConstraintOnListElements((ValidationCursor) validationEnvironment, (Collection<?>) validatedValue, runConstraintOnElement);
+        }
+
         if (validatedValue instanceof Collection<?>) {
             final AtomicInteger index = new AtomicInteger(0);
             return ((Collection<?>) validatedValue)
@@ -38,4 +45,66 @@ public class GraphQLListElementValidator {
 
         return runConstraintOnElement.apply(validationEnvironment);
     }
+
+    private List<GraphQLError> runConstraintOnListElements(ValidationCursor cursor, Collection<?> values, Function<ValidationEnvironment, List<GraphQLError>> runConstraintOnElement) {
+        GraphQLInputType elementType = (GraphQLInputType) GraphQLTypeUtil.unwrapAll(cursor.getValidatedType());
+        if (cursor.getOptions().isParallel(values.size())) {
+            return runConstraintOnListElementsInParallel(cursor, new ArrayList<>(values), elementType, runConstraintOnElement);
+        }
+        List<GraphQLError> errors = new ArrayList<>();
+        int index = 0;
+        for (Object item : values) {
+            if (item == null) {
+                continue;
+            }
+            if (cursor.isErrorLimitReached(errors.size())) {
+                break;
+            }
+            cursor.pushElement(index++, item, elementType);
+            try {
+                errors.addAll(runConstraintOnElement.apply(cursor));
+            } finally {
+                cursor.pop();
+            }
+        }
+        return errors;
+    }
+
+    /*
+     * The index of an element only counts the non null elements before it, so each chunk works out where it starts from
+     */
+    private List<GraphQLError> runConstraintOnListElementsInParallel(ValidationCursor cursor, List<Object> values, GraphQLInputType elementType, Function<ValidationEnvironment, List<GraphQLError>> runConstraintOnElement) {
+        int[] nonNullIndexes = new int[values.size()];
+        int index = 0;
+        for (int i = 0; i < values.size(); i++) {
+            nonNullIndexes[i] = index;
+            if (values.get(i) != null) {
+                index++;
+            }
+        }
+        List<List<GraphQLError>> chunkErrors = ParallelListValidation.validateInChunks(cursor, values.size(), (chunkCursor, fromIndex, toIndex) -> {
+            List<GraphQLError> errors = new ArrayList<>();
+            for (int i = fromIndex; i < toIndex; i++) {
+                Object item = values.get(i);
+                if (item == null) {
+                    continue;
+                }
+                if (chunkCursor.isErrorLimitReached(errors.size())) {
+                    break;
+                }
+                chunkCursor.pushElement(nonNullIndexes[i], item, elementType);
+                try {
+                    errors.addAll(runConstraintOnElement.apply(chunkCursor));
+                } finally {
+                    chunkCursor.pop();
+                }
+            }
+            return errors;
+        });
+        List<GraphQLError> errors = new ArrayList<>();
+        for (List<GraphQLError> chunk : chunkErrors) {
+            errors.addAll(chunk);
+        }
+        return errors;
+    }
 }
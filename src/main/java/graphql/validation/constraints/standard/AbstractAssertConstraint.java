@@ -37,4 +37,9 @@ abstract class AbstractAssertConstraint extends AbstractDirectiveConstraint {
     protected boolean appliesToListElements() {
         return true;
     }
+
+    @Override
+    public boolean dependsOnValueAlone() {
+        return true;
+    }
 }
@@ -27,26 +27,33 @@ abstract class AbstractDecimalMinMaxConstraint extends AbstractDirectiveConstrai
         return isOneOfTheseTypes(inputType, GRAPHQL_NUMBER_AND_STRING_TYPES);
     }
 
+    @Override
+    public Object compileDirective(GraphQLAppliedDirective directive) {
+        return new DecimalBound(getStrArg(directive, "value"), getBoolArg(directive, "inclusive"));
+    }
+
     @Override
     protected List<GraphQLError> runConstraint(ValidationEnvironment validationEnvironment) {
         Object validatedValue = validationEnvironment.getValidatedValue();
 
-        GraphQLAppliedDirective directive = validationEnvironment.getContextObject(GraphQLAppliedDirective.class);
-        String value = getStrArg(directive, "value");
-        boolean inclusive = getBoolArg(directive, "inclusive");
+        DecimalBound bound = getCompiledDirective(validationEnvironment);
 
         boolean isOK;
-        try {
-            BigDecimal directiveBD = new BigDecimal(value);
-            BigDecimal argBD = asBigDecimal(validatedValue);
-            int comparisonResult = argBD.compareTo(directiveBD);
-            isOK = isOK(inclusive, comparisonResult);
-        } catch (NumberFormatException nfe) {
+        if (bound.valueBD == null) {
+            // the directive value is not a number so nothing can pass it
             isOK = false;
+        } else {
+            try {
+                BigDecimal argBD = asBigDecimal(validatedValue);
+                int comparisonResult = argBD.compareTo(bound.valueBD);
+                isOK = isOK(bound.inclusive, comparisonResult);
+            } catch (NumberFormatException nfe) {
+                isOK = false;
+            }
         }
 
         if (!isOK) {
-            return mkError(validationEnvironment, "value", value, "inclusive", inclusive);
+            return mkError(validationEnvironment, "value", bound.value, "inclusive", bound.inclusive);
         }
 
         return Collections.emptyList();
@@ -58,4 +65,29 @@ abstract class AbstractDecimalMinMaxConstraint extends AbstractDirectiveConstrai
     protected boolean appliesToListElements() {
         return true;
     }
+
+    @Override
+    public boolean dependsOnValueAlone() {
+        return true;
+    }
+
+    static class DecimalBound {
+        private final String value;
+        private final BigDecimal valueBD;
+        private final boolean inclusive;
+
+        DecimalBound(String value, boolean inclusive) {
+            this.value = value;
+            this.valueBD = parse(value);
+            this.inclusive = inclusive;
+        }
+
+        private static BigDecimal parse(String value) {
+            try {
+                return new BigDecimal(value);
+            } catch (NumberFormatException nfe) {
+                return null;
+            }
+        }
+    }
 }
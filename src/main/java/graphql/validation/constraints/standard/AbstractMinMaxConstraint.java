@@ -27,26 +27,34 @@ abstract class AbstractMinMaxConstraint extends AbstractDirectiveConstraint {
         return isOneOfTheseTypes(inputType, GraphQLScalars.GRAPHQL_NUMBER_TYPES);
     }
 
+    @Override
+    public Object compileDirective(GraphQLAppliedDirective directive) {
+        return new Bound(getIntArg(directive, "value"));
+    }
+
     @Override
     protected List<GraphQLError> runConstraint(ValidationEnvironment validationEnvironment) {
         Object validatedValue = validationEnvironment.getValidatedValue();
-        GraphQLAppliedDirective directive = validationEnvironment.getContextObject(GraphQLAppliedDirective.class);
-        int value = getIntArg(directive, "value");
+        Bound bound = getCompiledDirective(validationEnvironment);
 
         boolean isOK;
-        try {
-            BigDecimal directiveBD = new BigDecimal(value);
-            BigDecimal argBD = asBigDecimal(validatedValue);
-            int comparisonResult = argBD.compareTo(directiveBD);
+        if (isIntegralNumber(validatedValue)) {
+            int comparisonResult = Long.compare(((Number) validatedValue).longValue(), bound.value);
             isOK = isOK(comparisonResult);
+        } else {
+            try {
+                BigDecimal argBD = asBigDecimal(validatedValue);
+                int comparisonResult = argBD.compareTo(bound.valueBD);
+                isOK = isOK(comparisonResult);
 
-        } catch (NumberFormatException nfe) {
-            isOK = false;
+            } catch (NumberFormatException nfe) {
+                isOK = false;
+            }
         }
 
 
         if (!isOK) {
-            return mkError(validationEnvironment, "value", value);
+            return mkError(validationEnvironment, "value", bound.value);
         }
 
         return Collections.emptyList();
@@ -58,4 +66,19 @@ abstract class AbstractMinMaxConstraint extends AbstractDirectiveConstraint {
     protected boolean appliesToListElements() {
         return true;
     }
+
+    @Override
+    public boolean dependsOnValueAlone() {
+        return true;
+    }
+
+    static class Bound {
+        private final int value;
+        private final BigDecimal valueBD;
+
+        Bound(int value) {
+            this.value = value;
+            this.valueBD = new BigDecimal(value);
+        }
+    }
 }
@@ -25,4 +25,9 @@ public abstract class AbstractNotEmptyRule extends AbstractDirectiveConstraint {
 
         return Collections.emptyList();
     }
+
+    @Override
+    public boolean dependsOnValueAlone() {
+        return true;
+    }
 }
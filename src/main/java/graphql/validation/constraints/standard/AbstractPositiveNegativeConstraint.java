@@ -51,4 +51,9 @@ abstract class AbstractPositiveNegativeConstraint extends AbstractDirectiveConst
     protected boolean appliesToListElements() {
         return true;
     }
+
+    @Override
+    public boolean dependsOnValueAlone() {
+        return true;
+    }
 }
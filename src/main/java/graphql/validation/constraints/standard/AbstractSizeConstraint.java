@@ -14,14 +14,19 @@ public abstract class AbstractSizeConstraint extends AbstractDirectiveConstraint
         super(name);
     }
 
+    @Override
+    public Object compileDirective(GraphQLAppliedDirective directive) {
+        return new Size(getIntArg(directive, "min"), getIntArg(directive, "max"));
+    }
+
     @Override
     final protected List<GraphQLError> runConstraint(ValidationEnvironment validationEnvironment) {
         Object validatedValue = validationEnvironment.getValidatedValue();
         GraphQLInputType argType = validationEnvironment.getValidatedType();
 
-        GraphQLAppliedDirective directive = validationEnvironment.getContextObject(GraphQLAppliedDirective.class);
-        int min = getIntArg(directive, "min");
-        int max = getIntArg(directive, "max");
+        Size sizeBounds = getCompiledDirective(validationEnvironment);
+        int min = sizeBounds.min;
+        int max = sizeBounds.max;
 
         int size = getStringOrIDOrObjectOrMapLength(argType, validatedValue);
 
@@ -31,4 +36,19 @@ public abstract class AbstractSizeConstraint extends AbstractDirectiveConstraint
 
         return Collections.emptyList();
     }
+
+    @Override
+    public boolean dependsOnValueAlone() {
+        return true;
+    }
+
+    static class Size {
+        private final int min;
+        private final int max;
+
+        Size(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+    }
 }
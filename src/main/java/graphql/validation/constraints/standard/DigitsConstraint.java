@@ -38,22 +38,23 @@ public class DigitsConstraint extends AbstractDirectiveConstraint {
     }
 
 
+    @Override
+    public Object compileDirective(GraphQLAppliedDirective directive) {
+        return new Digits(getIntArg(directive, "integer"), getIntArgOpt(directive, "fraction"));
+    }
+
     @Override
     protected List<GraphQLError> runConstraint(ValidationEnvironment validationEnvironment) {
         Object validatedValue = validationEnvironment.getValidatedValue();
 
-        GraphQLAppliedDirective directive = validationEnvironment.getContextObject(GraphQLAppliedDirective.class);
-        int maxIntegerLength = getIntArg(directive, "integer");
-        Optional<Integer> maxFractionLengthOpt = getIntArgOpt(directive, "fraction");
+        Digits digits = getCompiledDirective(validationEnvironment);
 
         boolean isOk;
         try {
             BigDecimal bigNum = asBigDecimal(validatedValue);
-            boolean isFractionPartOk = maxFractionLengthOpt
-                .map(maxFractionLength -> isFractionPartOk(bigNum, maxFractionLength))
-                .orElse(true);
+            boolean isFractionPartOk = !digits.hasFraction || isFractionPartOk(bigNum, digits.maxFractionLength);
 
-            isOk = isFractionPartOk && isIntegerPartOk(bigNum, maxIntegerLength);
+            isOk = isFractionPartOk && isIntegerPartOk(bigNum, digits.maxIntegerLength);
         } catch (NumberFormatException e) {
             isOk = false;
         }
@@ -62,8 +63,8 @@ public class DigitsConstraint extends AbstractDirectiveConstraint {
             return mkError(
                 validationEnvironment,
                 "integer",
-                maxIntegerLength, "fraction",
-                maxFractionLengthOpt.map(Object::toString).orElse("unlimited")
+                digits.maxIntegerLength, "fraction",
+                digits.fractionText
             );
         }
 
@@ -84,4 +85,23 @@ public class DigitsConstraint extends AbstractDirectiveConstraint {
     protected boolean appliesToListElements() {
         return true;
     }
+
+    @Override
+    public boolean dependsOnValueAlone() {
+        return true;
+    }
+
+    static class Digits {
+        private final int maxIntegerLength;
+        private final boolean hasFraction;
+        private final int maxFractionLength;
+        private final String fractionText;
+
+        Digits(int maxIntegerLength, Optional<Integer> maxFractionLengthOpt) {
+            this.maxIntegerLength = maxIntegerLength;
+            this.hasFraction = maxFractionLengthOpt.isPresent();
+            this.maxFractionLength = maxFractionLengthOpt.orElse(0);
+            this.fractionText = maxFractionLengthOpt.map(Object::toString).orElse("unlimited");
+        }
+    }
 }
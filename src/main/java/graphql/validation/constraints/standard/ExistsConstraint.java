@@ -0,0 +1,135 @@
+package graphql.validation.constraints.standard;
+
+import graphql.Assert;
+import graphql.GraphQLError;
+import graphql.Scalars;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.validation.constraints.AbstractDirectiveConstraint;
+import graphql.validation.constraints.Documentation;
+import graphql.validation.rules.AsyncValidationRule;
+import graphql.validation.rules.ValidationEnvironment;
+import graphql.validation.util.Util;
+import org.dataloader.DataLoader;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static graphql.schema.GraphQLTypeUtil.isList;
+import static java.lang.String.format;
+
+/**
+ * The @Exists constraint checks that a value refers to something that exists by loading it via a named
+ * {@link org.dataloader.DataLoader} from the {@link org.dataloader.DataLoaderRegistry} of the request.  A value
+ * is said to exist if the data loader loads a non null value for it.
+ * <p>
+ * Because the checks go through a data loader, the checks for all the fields and list elements of one execution level
+ * are sent to the batch loader together.
+ * <p>
+ * This is not one of the {@link graphql.validation.constraints.DirectiveConstraints#STANDARD_CONSTRAINTS} since it needs
+ * data loaders to be set up, and so it has to be added to the validation rules and directive constraints by hand.
+ */
+public class ExistsConstraint extends AbstractDirectiveConstraint implements AsyncValidationRule {
+
+    public ExistsConstraint() {
+        super("Exists");
+    }
+
+    @Override
+    public Documentation getDocumentation() {
+        return Documentation.newDocumentation()
+                .messageTemplate(getMessageTemplate())
+                .description("The value must be loaded as non null by the named data loader.")
+                .example("updateDriver( driverId : ID @Exists(loader : \"driverById\") : DriverDetails")
+                .applicableTypeNames(Scalars.GraphQLString.getName(), Scalars.GraphQLID.getName(), Scalars.GraphQLInt.getName(), "Lists")
+                .directiveSDL("directive @Exists(loader : String!, message : String = \"%s\") " +
+                                "on ARGUMENT_DEFINITION | INPUT_FIELD_DEFINITION",
+                        getMessageTemplate())
+                .build();
+    }
+
+    @Override
+    public boolean appliesToType(GraphQLInputType inputType) {
+        return Util.unwrapNonNull(inputType) instanceof GraphQLScalarType || isList(inputType);
+    }
+
+    @Override
+    protected boolean appliesToListElements() {
+        return true;
+    }
+
+    @Override
+    public CompletionStage<List<GraphQLError>> runValidationAsync(ValidationEnvironment validationEnvironment) {
+        Object validatedValue = validationEnvironment.getValidatedValue();
+        if (validatedValue == null) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        List<CompletableFuture<List<GraphQLError>>> checks = new ArrayList<>();
+        for (GraphQLAppliedDirective directive : Util.sort(validationEnvironment.getDirectives(), GraphQLAppliedDirective::getName)) {
+            if (!directive.getName().equals(getName())) {
+                continue;
+            }
+            ValidationEnvironment directiveEnvironment = validationEnvironment.transform(b -> b.context(GraphQLAppliedDirective.class, directive));
+            if (validatedValue instanceof Collection) {
+                GraphQLInputType elementType = (GraphQLInputType) GraphQLTypeUtil.unwrapAll(validationEnvironment.getValidatedType());
+                int index = 0;
+                for (Object item : (Collection<?>) validatedValue) {
+                    if (item == null) {
+                        continue;
+                    }
+                    int elementIndex = index++;
+                    checks.add(check(directiveEnvironment.transform(b -> b
+                            .validatedValue(item)
+                            .validatedType(elementType)
+                            .validatedPath(directiveEnvironment.getValidatedPath().segment(elementIndex)))));
+                }
+            } else {
+                checks.add(check(directiveEnvironment));
+            }
+        }
+
+        return CompletableFuture.allOf(checks.toArray(new CompletableFuture[0])).thenApply(done -> {
+            List<GraphQLError> errors = new ArrayList<>();
+            for (CompletableFuture<List<GraphQLError>> check : checks) {
+                errors.addAll(check.join());
+            }
+            return errors;
+        });
+    }
+
+    /*
+     * This is only used when the rule is run synchronously, in which case the data loader is dispatched straight away
+     */
+    @Override
+    protected List<GraphQLError> runConstraint(ValidationEnvironment validationEnvironment) {
+        CompletableFuture<List<GraphQLError>> errors = check(validationEnvironment);
+        dataLoader(validationEnvironment).dispatch();
+        return errors.join();
+    }
+
+    private CompletableFuture<List<GraphQLError>> check(ValidationEnvironment validationEnvironment) {
+        DataLoader<Object, Object> dataLoader = dataLoader(validationEnvironment);
+        return dataLoader.load(validationEnvironment.getValidatedValue())
+                .thenApply(loaded -> loaded != null ? Collections.<GraphQLError>emptyList() : mkError(validationEnvironment, "loader", loaderName(validationEnvironment)));
+    }
+
+    private DataLoader<Object, Object> dataLoader(ValidationEnvironment validationEnvironment) {
+        String loaderName = loaderName(validationEnvironment);
+        DataFetchingEnvironment dataFetchingEnvironment = validationEnvironment.getDataFetchingEnvironment();
+        DataLoader<Object, Object> dataLoader = dataFetchingEnvironment == null ? null : dataFetchingEnvironment.getDataLoader(loaderName);
+        return Assert.assertNotNull(dataLoader, () -> format("The directive rule '@%s' needs a data loader called '%s' to be registered", getName(), loaderName));
+    }
+
+    private String loaderName(ValidationEnvironment validationEnvironment) {
+        GraphQLAppliedDirective directive = validationEnvironment.getContextObject(GraphQLAppliedDirective.class);
+        return getStrArg(directive, "loader");
+    }
+}
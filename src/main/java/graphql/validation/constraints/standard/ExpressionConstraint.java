@@ -10,6 +10,7 @@ import graphql.validation.constraints.Documentation;
 import graphql.validation.el.ELSupport;
 import graphql.validation.el.StandardELVariables;
 import graphql.validation.rules.ValidationEnvironment;
+import jakarta.el.ValueExpression;
 
 import java.util.Collections;
 import java.util.List;
@@ -48,18 +49,27 @@ public class ExpressionConstraint extends AbstractDirectiveConstraint {
         return fieldDefinition.getDirective(getName()) != null;
     }
 
+    /*
+     * The expression is parsed here, as the schema is wired, so a malformed expression fails schema construction
+     * rather than the first request that runs its field
+     */
     @Override
-    protected List<GraphQLError> runConstraint(ValidationEnvironment validationEnvironment) {
-        GraphQLAppliedDirective directive = validationEnvironment.getContextObject(GraphQLAppliedDirective.class);
+    public Object compileDirective(GraphQLAppliedDirective directive) {
         String expression = helpWithCurlyBraces(getStrArg(directive, "value"));
+        return new CompiledExpression(expression, ELSupport.compile(expression, Boolean.class));
+    }
+
+    @Override
+    protected List<GraphQLError> runConstraint(ValidationEnvironment validationEnvironment) {
+        CompiledExpression compiledExpression = getCompiledDirective(validationEnvironment);
 
         Map<String, Object> variables = StandardELVariables.standardELVars(validationEnvironment);
 
         ELSupport elSupport = new ELSupport(validationEnvironment.getLocale());
-        boolean isOK = elSupport.evaluateBoolean(expression, variables);
+        boolean isOK = elSupport.evaluateBoolean(compiledExpression.valueExpression, variables);
 
         if (!isOK) {
-            return mkError(validationEnvironment,"value", expression);
+            return mkError(validationEnvironment,"value", compiledExpression.expression);
         }
 
         return Collections.emptyList();
@@ -80,4 +90,14 @@ public class ExpressionConstraint extends AbstractDirectiveConstraint {
     protected boolean appliesToListElements() {
         return false;
     }
+
+    static class CompiledExpression {
+        private final String expression;
+        private final ValueExpression valueExpression;
+
+        CompiledExpression(String expression, ValueExpression valueExpression) {
+            this.expression = expression;
+            this.valueExpression = valueExpression;
+        }
+    }
 }
@@ -48,4 +48,9 @@ public class NotBlankRule extends AbstractDirectiveConstraint {
     protected boolean appliesToListElements() {
         return true;
     }
+
+    @Override
+    public boolean dependsOnValueAlone() {
+        return true;
+    }
 }
@@ -3,7 +3,6 @@ package graphql.validation.constraints.standard;
 import graphql.GraphQLError;
 import graphql.Scalars;
 import graphql.schema.GraphQLAppliedDirective;
-import graphql.schema.GraphQLDirective;
 import graphql.schema.GraphQLInputType;
 import graphql.validation.constraints.AbstractDirectiveConstraint;
 import graphql.validation.constraints.Documentation;
@@ -42,20 +41,23 @@ public class PatternConstraint extends AbstractDirectiveConstraint {
         return isStringOrID(inputType) || isList(inputType);
     }
 
+    @Override
+    public Object compileDirective(GraphQLAppliedDirective directive) {
+        String patternArg = getStrArg(directive, "regexp");
+        return new CompiledPattern(patternArg, cachedPattern(patternArg));
+    }
+
     @Override
     protected List<GraphQLError> runConstraint(ValidationEnvironment validationEnvironment) {
         Object validatedValue = validationEnvironment.getValidatedValue();
 
         String strValue = String.valueOf(validatedValue);
 
-        GraphQLAppliedDirective directive = validationEnvironment.getContextObject(GraphQLAppliedDirective.class);
+        CompiledPattern compiledPattern = getCompiledDirective(validationEnvironment);
 
-        String patternArg = getStrArg(directive, "regexp");
-        Pattern pattern = cachedPattern(patternArg);
-
-        Matcher matcher = pattern.matcher(strValue);
+        Matcher matcher = compiledPattern.pattern.matcher(strValue);
         if (!matcher.matches()) {
-            return mkError(validationEnvironment, "regexp", patternArg);
+            return mkError(validationEnvironment, "regexp", compiledPattern.regexp);
         }
 
         return emptyList();
@@ -69,4 +71,19 @@ public class PatternConstraint extends AbstractDirectiveConstraint {
     protected boolean appliesToListElements() {
         return true;
     }
+
+    @Override
+    public boolean dependsOnValueAlone() {
+        return true;
+    }
+
+    static class CompiledPattern {
+        private final String regexp;
+        private final Pattern pattern;
+
+        CompiledPattern(String regexp, Pattern pattern) {
+            this.regexp = regexp;
+            this.pattern = pattern;
+        }
+    }
 }
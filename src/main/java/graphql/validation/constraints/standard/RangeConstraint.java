@@ -38,24 +38,32 @@ public class RangeConstraint extends AbstractDirectiveConstraint {
     }
 
 
+    @Override
+    public Object compileDirective(GraphQLAppliedDirective directive) {
+        return new Range(getIntArg(directive, "min"), getIntArg(directive, "max"));
+    }
+
     @Override
     protected List<GraphQLError> runConstraint(ValidationEnvironment validationEnvironment) {
         Object validatedValue = validationEnvironment.getValidatedValue();
 
-        GraphQLAppliedDirective directive = validationEnvironment.getContextObject(GraphQLAppliedDirective.class);
-        BigDecimal min = asBigDecimal(getIntArg(directive, "min"));
-        BigDecimal max = asBigDecimal(getIntArg(directive, "max"));
+        Range range = getCompiledDirective(validationEnvironment);
 
         boolean isOK;
-        try {
-            BigDecimal argBD = asBigDecimal(validatedValue);
-            isOK = isOK(argBD, min, max);
-        } catch (NumberFormatException nfe) {
-            isOK = false;
+        if (isIntegralNumber(validatedValue)) {
+            long argLong = ((Number) validatedValue).longValue();
+            isOK = argLong >= range.min && argLong <= range.max;
+        } else {
+            try {
+                BigDecimal argBD = asBigDecimal(validatedValue);
+                isOK = isOK(argBD, range.minBD, range.maxBD);
+            } catch (NumberFormatException nfe) {
+                isOK = false;
+            }
         }
 
         if (!isOK) {
-            return mkError(validationEnvironment, "min", min, "max", max);
+            return mkError(validationEnvironment, "min", range.minBD, "max", range.maxBD);
 
         }
         return Collections.emptyList();
@@ -73,4 +81,23 @@ public class RangeConstraint extends AbstractDirectiveConstraint {
     protected boolean appliesToListElements() {
         return true;
     }
+
+    @Override
+    public boolean dependsOnValueAlone() {
+        return true;
+    }
+
+    static class Range {
+        private final long min;
+        private final long max;
+        private final BigDecimal minBD;
+        private final BigDecimal maxBD;
+
+        Range(long min, long max) {
+            this.min = min;
+            this.max = max;
+            this.minBD = BigDecimal.valueOf(min);
+            this.maxBD = BigDecimal.valueOf(max);
+        }
+    }
 }
@@ -1,28 +1,43 @@
 package graphql.validation.el;
 
 import graphql.Internal;
+import jakarta.el.ArrayELResolver;
+import jakarta.el.BeanELResolver;
+import jakarta.el.CompositeELResolver;
 import jakarta.el.ELContext;
 import jakarta.el.ELManager;
+import jakarta.el.ELResolver;
 import jakarta.el.ExpressionFactory;
-import jakarta.el.StandardELContext;
+import jakarta.el.FunctionMapper;
+import jakarta.el.ListELResolver;
+import jakarta.el.MapELResolver;
+import jakarta.el.ResourceBundleELResolver;
+import jakarta.el.StaticFieldELResolver;
 import jakarta.el.ValueExpression;
+import jakarta.el.VariableMapper;
+import org.hibernate.validator.internal.engine.messageinterpolation.FormatterWrapper;
+
+import java.beans.FeatureDescriptor;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
-import org.hibernate.validator.internal.engine.messageinterpolation.FormatterWrapper;
 
+/**
+ * Expressions are parsed once via {@link #compile(String, Class)} and can then be evaluated many times.  An evaluation
+ * uses a light weight {@link jakarta.el.ELContext} that resolves the variables it is given plus a "formatter" and
+ * otherwise shares the one set of EL resolvers.
+ */
 @Internal
-@SuppressWarnings("unused")
 public class ELSupport {
     private static final ExpressionFactory expressionFactory = loadExpressionSupport();
-    private final StandardELContext elContext;
+    private static final ELResolver elResolver = buildELResolver();
+
+    private final Locale locale;
 
     public ELSupport(Locale locale) {
-        elContext = new StandardELContext(expressionFactory);
-        elContext.setLocale(locale);
-        elContext.addELResolver(new BetterMapELResolver());
-        // put in standard functions and variables here
-        bindVariable(elContext, "formatter", new FormatterWrapper(locale));
+        this.locale = locale;
     }
 
 
@@ -36,45 +51,172 @@ public class ELSupport {
         return ELManager.getExpressionFactory();
     }
 
-    private void bindMethod(String bindName, String methodName, Class<?>... args) {
-        elContext.getFunctionMapper().mapFunction("", bindName, loadMethod(methodName, args));
-    }
-
-    private Method loadMethod(String name, Class<?>... args) {
-        try {
-            return ELSupport.class.getMethod(name, args);
-        } catch (NoSuchMethodException e) {
-            throw new IllegalStateException(e);
+    /*
+     * This is the same chain of resolvers that a StandardELContext would build for each context, with our
+     * variables resolved first
+     */
+    private static ELResolver buildELResolver() {
+        CompositeELResolver resolver = new CompositeELResolver();
+        resolver.add(new VariablesELResolver());
+        resolver.add(new BetterMapELResolver());
+        ELResolver streamELResolver = expressionFactory.getStreamELResolver();
+        if (streamELResolver != null) {
+            resolver.add(streamELResolver);
         }
+        resolver.add(new StaticFieldELResolver());
+        resolver.add(new MapELResolver());
+        resolver.add(new ResourceBundleELResolver());
+        resolver.add(new ListELResolver());
+        resolver.add(new ArrayELResolver());
+        resolver.add(new BeanELResolver());
+        return resolver;
     }
 
-    private ValueExpression bindVariable(ELContext elContext, String variableName, Object variableValue) {
-        ValueExpression valueExpression = expressionFactory.createValueExpression(
-                variableValue,
-                Object.class
-        );
-        return elContext.getVariableMapper().setVariable(variableName, valueExpression);
+    /**
+     * Parses an expression so that it can be evaluated many times.  The variables are not bound into the
+     * expression but are resolved each time it is evaluated.
+     *
+     * @param expression          the expression to parse
+     * @param expectedResultClass the class the expression must result in
+     *
+     * @return a parsed expression
+     */
+    public static ValueExpression compile(String expression, Class<?> expectedResultClass) {
+        return expressionFactory.createValueExpression(new EvaluationContext(null, Collections.emptyMap()), expression, expectedResultClass);
     }
 
     public boolean evaluateBoolean(String expression, Map<String, Object> variables) {
-        return evaluateImpl(expression, variables, Boolean.class);
-
+        return evaluateBoolean(compile(expression, Boolean.class), variables);
     }
 
     public Object evaluate(String expression, Map<String, Object> variables) {
+        return evaluate(compile(expression, Object.class), variables);
+    }
+
+    public boolean evaluateBoolean(ValueExpression expression, Map<String, Object> variables) {
+        return evaluateImpl(expression, variables, Boolean.class);
+    }
+
+    public Object evaluate(ValueExpression expression, Map<String, Object> variables) {
         return evaluateImpl(expression, variables, Object.class);
     }
 
     @SuppressWarnings("unchecked")
-    private <T> T evaluateImpl(String expression, Map<String, Object> variables, Class<T> expectedResultClass) {
-        StandardELContext context = new StandardELContext(elContext);
-        for (Map.Entry<String, Object> entry : variables.entrySet()) {
-            bindVariable(context, entry.getKey(), entry.getValue());
-        }
-        ValueExpression result = expressionFactory.createValueExpression(context, expression, expectedResultClass);
-        Object value = result.getValue(context);
+    private <T> T evaluateImpl(ValueExpression expression, Map<String, Object> variables, Class<T> expectedResultClass) {
+        EvaluationContext context = new EvaluationContext(locale, variables);
+        Object value = expression.getValue(context);
         return (T) value;
     }
 
+    private static class EvaluationContext extends ELContext {
+        private final Map<String, Object> variables;
+        private FormatterWrapper formatter;
+
+        EvaluationContext(Locale locale, Map<String, Object> variables) {
+            this.variables = variables;
+            putContext(ExpressionFactory.class, expressionFactory);
+            if (locale != null) {
+                setLocale(locale);
+            }
+        }
+
+        FormatterWrapper getFormatter() {
+            if (formatter == null) {
+                formatter = new FormatterWrapper(getLocale());
+            }
+            return formatter;
+        }
+
+        @Override
+        public ELResolver getELResolver() {
+            return elResolver;
+        }
+
+        @Override
+        public FunctionMapper getFunctionMapper() {
+            return NoFunctions.INSTANCE;
+        }
+
+        @Override
+        public VariableMapper getVariableMapper() {
+            return NoVariables.INSTANCE;
+        }
+    }
+
+    /*
+     * Resolves the top level identifiers of an expression from the variables of the evaluation
+     */
+    private static class VariablesELResolver extends ELResolver {
+
+        @Override
+        public Object getValue(ELContext context, Object base, Object property) {
+            if (base != null || !(context instanceof EvaluationContext) || property == null) {
+                return null;
+            }
+            EvaluationContext evaluationContext = (EvaluationContext) context;
+            String name = property.toString();
+            Map<String, Object> variables = evaluationContext.variables;
+            if (variables.containsKey(name)) {
+                context.setPropertyResolved(true);
+                return variables.get(name);
+            }
+            if ("formatter".equals(name)) {
+                context.setPropertyResolved(true);
+                return evaluationContext.getFormatter();
+            }
+            return null;
+        }
+
+        @Override
+        public Class<?> getType(ELContext context, Object base, Object property) {
+            Object value = getValue(context, base, property);
+            if (context.isPropertyResolved()) {
+                return value == null ? Object.class : value.getClass();
+            }
+            return null;
+        }
+
+        @Override
+        public void setValue(ELContext context, Object base, Object property, Object value) {
+        }
+
+        @Override
+        public boolean isReadOnly(ELContext context, Object base, Object property) {
+            getValue(context, base, property);
+            return context.isPropertyResolved();
+        }
+
+        @Override
+        public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+            return null;
+        }
+
+        @Override
+        public Class<?> getCommonPropertyType(ELContext context, Object base) {
+            return base == null ? String.class : null;
+        }
+    }
+
+    private static class NoFunctions extends FunctionMapper {
+        static final NoFunctions INSTANCE = new NoFunctions();
+
+        @Override
+        public Method resolveFunction(String prefix, String localName) {
+            return null;
+        }
+    }
+
+    private static class NoVariables extends VariableMapper {
+        static final NoVariables INSTANCE = new NoVariables();
+
+        @Override
+        public ValueExpression resolveVariable(String variable) {
+            return null;
+        }
 
+        @Override
+        public ValueExpression setVariable(String variable, ValueExpression expression) {
+            return null;
+        }
+    }
 }
@@ -1,32 +1,121 @@
 package graphql.validation.el;
 
+import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLFieldsContainer;
 import graphql.validation.rules.ValidationEnvironment;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-
-import static graphql.validation.util.Util.mkMap;
+import java.util.Set;
 
 public class StandardELVariables {
 
+    private static final List<String> NAMES = Collections.unmodifiableList(Arrays.asList(
+            "validatedValue",
+
+            "gqlField",
+            "gqlFieldContainer",
+
+            "gqlArgument",
+
+            "args", // short hand
+            "arguments"
+    ));
+
+    /**
+     * The standard variables are a read only map over the parts of the validation environment that they name,
+     * rather than a copy of them in a new map
+     *
+     * @param validationEnvironment the validation environment
+     *
+     * @return a map of the standard EL variables
+     */
     public static Map<String, Object> standardELVars(ValidationEnvironment validationEnvironment) {
-        GraphQLFieldDefinition fieldDefinition = validationEnvironment.getFieldDefinition();
-        Object argument = validationEnvironment.getArgument();
-        GraphQLFieldsContainer fieldsContainer = validationEnvironment.getFieldsContainer();
-        Object validatedValue = validationEnvironment.getValidatedValue();
-        Map<String, Object> argumentValues = validationEnvironment.getArgumentValues();
+        return new EnvironmentVariables(validationEnvironment.getValidatedValue(),
+                validationEnvironment.getFieldDefinition(),
+                validationEnvironment.getFieldsContainer(),
+                validationEnvironment.getArgument(),
+                validationEnvironment.getArgumentValues());
+    }
+
+    private static class EnvironmentVariables extends AbstractMap<String, Object> {
+        private final Object validatedValue;
+        private final GraphQLFieldDefinition fieldDefinition;
+        private final GraphQLFieldsContainer fieldsContainer;
+        private final GraphQLArgument argument;
+        private final Map<String, Object> argumentValues;
+
+        EnvironmentVariables(Object validatedValue, GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer, GraphQLArgument argument, Map<String, Object> argumentValues) {
+            this.validatedValue = validatedValue;
+            this.fieldDefinition = fieldDefinition;
+            this.fieldsContainer = fieldsContainer;
+            this.argument = argument;
+            this.argumentValues = argumentValues;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            switch ((String) key) {
+                case "validatedValue":
+                    return validatedValue;
+                case "gqlField":
+                    return fieldDefinition;
+                case "gqlFieldContainer":
+                    return fieldsContainer;
+                case "gqlArgument":
+                    return argument;
+                case "args":
+                case "arguments":
+                    return argumentValues;
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return NAMES.contains(key);
+        }
 
-        return mkMap(
-                "validatedValue", validatedValue,
+        @Override
+        public int size() {
+            return NAMES.size();
+        }
 
-                "gqlField", fieldDefinition,
-                "gqlFieldContainer", fieldsContainer,
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    Iterator<String> names = NAMES.iterator();
+                    return new Iterator<Entry<String, Object>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return names.hasNext();
+                        }
 
-                "gqlArgument", argument,
+                        @Override
+                        public Entry<String, Object> next() {
+                            String name = names.next();
+                            return new SimpleImmutableEntry<>(name, get(name));
+                        }
+                    };
+                }
 
-                "args", argumentValues, // short hand
-                "arguments", argumentValues
-        );
+                @Override
+                public int size() {
+                    return NAMES.size();
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,142 @@
+package graphql.validation.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.PublicApi;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.MergedField;
+import graphql.execution.ResultPath;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.util.TraversalControl;
+import graphql.validation.rules.ValidationCoordinates;
+import graphql.validation.rules.ValidationRules;
+import graphql.validation.util.Util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An {@link graphql.execution.instrumentation.Instrumentation} that runs the validation rules against the arguments of every
+ * field of an operation before the operation is executed.  If any field is invalid then the operation is aborted with the
+ * validation errors, without any data fetchers having been called.
+ * <p>
+ * The field paths of the errors have no list indexes since the operation has not been executed yet.  A field under a list
+ * is validated once as its arguments are the same for every element of the list.
+ * <p>
+ * A field selected on an interface is only said to be invalid if it is invalid for every object type that implements the
+ * interface, since it is not known which object types will be met.  The validating data fetchers of
+ * {@link graphql.validation.schemawiring.ValidationSchemaWiring} still check such fields as they are executed.
+ * <p>
+ * Only the rules that depend on the argument values alone are run here, which leaves out {@link graphql.validation.rules.AsyncValidationRule}s
+ * and {@link graphql.validation.rules.BlockingValidationRule}s.  Those would hold up the operation while they wait and
+ * are left to the validating data fetchers, which run them alongside the rest of the execution.
+ */
+@PublicApi
+public class ExtendedValidationInstrumentation extends SimplePerformantInstrumentation {
+
+    private final ValidationRules validationRules;
+
+    public ExtendedValidationInstrumentation(ValidationRules validationRules) {
+        this.validationRules = validationRules;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        List<GraphQLError> errors = validateOperation(parameters.getExecutionContext());
+        if (!errors.isEmpty()) {
+            throw new AbortExecutionException(errors);
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    /**
+     * Runs the validation rules against the arguments of every field of the operation that is about to be executed
+     *
+     * @param executionContext the execution context of the operation
+     *
+     * @return a list of zero or more input data validation errors
+     */
+    public List<GraphQLError> validateOperation(ExecutionContext executionContext) {
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+        QueryTraverser queryTraverser = QueryTraverser.newQueryTraverser()
+                .schema(schema)
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getOperationDefinition().getName())
+                .coercedVariables(executionContext.getCoercedVariables())
+                .build();
+
+        int maxErrors = validationRules.getMaxErrorsPerRequest();
+        List<GraphQLError> errors = new ArrayList<>();
+        // the same field can be selected more than once, for example via two fragments, and yet it is only executed once.
+        // Fields of different types can share a path though, as can fields with different arguments under different parents
+        Set<List<Object>> validatedFields = new HashSet<>();
+        queryTraverser.visitPreOrder(new QueryVisitorStub() {
+            @Override
+            public TraversalControl visitFieldWithControl(QueryVisitorFieldEnvironment fieldEnvironment) {
+                if (fieldEnvironment.isTypeNameIntrospectionField() || fieldEnvironment.getFieldDefinition().getName().startsWith("__")) {
+                    return TraversalControl.CONTINUE;
+                }
+                ResultPath fieldPath = pathOf(fieldEnvironment);
+                ValidationCoordinates coordinates = ValidationCoordinates.newCoordinates(fieldEnvironment.getFieldsContainer(), fieldEnvironment.getFieldDefinition());
+                if (validatedFields.add(Arrays.asList(fieldPath, coordinates, fieldEnvironment.getArguments()))) {
+                    errors.addAll(validateField(executionContext, fieldEnvironment, fieldPath, maxErrors - errors.size()));
+                }
+                return errors.size() >= maxErrors ? TraversalControl.QUIT : TraversalControl.CONTINUE;
+            }
+        });
+        return errors;
+    }
+
+    private List<GraphQLError> validateField(ExecutionContext executionContext, QueryVisitorFieldEnvironment fieldEnvironment, ResultPath fieldPath, int maxErrors) {
+        List<GraphQLError> errors = Collections.emptyList();
+        for (GraphQLObjectType objectType : Util.possibleObjectTypes(executionContext.getGraphQLSchema(), fieldEnvironment.getFieldsContainer())) {
+            GraphQLFieldDefinition fieldDefinition = objectType.getFieldDefinition(fieldEnvironment.getField().getName());
+            MergedField mergedField = MergedField.newMergedField(fieldEnvironment.getField()).build();
+            ExecutionStepInfo executionStepInfo = ExecutionStepInfo.newExecutionStepInfo()
+                    .type(fieldDefinition.getType())
+                    .fieldDefinition(fieldDefinition)
+                    .fieldContainer(objectType)
+                    .field(mergedField)
+                    .path(fieldPath)
+                    .build();
+            DataFetchingEnvironment env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment(executionContext)
+                    .fieldDefinition(fieldDefinition)
+                    .mergedField(mergedField)
+                    .fieldType(fieldDefinition.getType())
+                    .parentType(objectType)
+                    .executionStepInfo(executionStepInfo)
+                    .arguments(fieldEnvironment.getArguments())
+                    .build();
+
+            errors = validationRules.runSynchronousValidationRules(env, maxErrors);
+            if (errors.isEmpty()) {
+                // the field may well be executed on this object type and so it is left to its data fetcher to decide
+                return errors;
+            }
+        }
+        return errors;
+    }
+
+    private static ResultPath pathOf(QueryVisitorFieldEnvironment fieldEnvironment) {
+        QueryVisitorFieldEnvironment parentEnvironment = fieldEnvironment.getParentEnvironment();
+        ResultPath parentPath = parentEnvironment == null ? ResultPath.rootPath() : pathOf(parentEnvironment);
+        return parentPath.segment(fieldEnvironment.getField().getResultKey());
+    }
+}
@@ -2,8 +2,9 @@ package graphql.validation.interpolation;
 
 import graphql.ErrorClassification;
 import graphql.GraphQLError;
-import graphql.GraphqlErrorBuilder;
+import graphql.GraphqlErrorHelper;
 import graphql.execution.ResultPath;
+import graphql.language.SourceLocation;
 import graphql.schema.GraphQLAppliedDirective;
 import graphql.validation.el.StandardELVariables;
 import graphql.validation.rules.ValidationEnvironment;
@@ -22,12 +23,15 @@ import org.hibernate.validator.spi.resourceloading.ResourceBundleLocator;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.MissingResourceException;
-import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
 import static java.lang.annotation.ElementType.CONSTRUCTOR;
@@ -59,6 +63,7 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
     private ResourceBundleLocator userResourceBundleLocator = new PlatformResourceBundleLocator("ValidationMessages");
     private ResourceBundleLocator systemResourceBundleLocator = new PlatformResourceBundleLocator("graphql.validation.ValidationMessages");
     private Locale defaultLocale = Locale.getDefault();
+    private final ConcurrentMap<Locale, Map<String, String>> messageCatalogs = new ConcurrentHashMap<>();
 
     /**
      * Override this method to build your own ErrorClassification
@@ -77,7 +82,8 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
     }
 
     /**
-     * You can override this to provide your own resource bundles for a given locale
+     * You can override this to provide your own resource bundles for a given locale.  This is called once per locale
+     * and its messages are kept along with those of the other bundles.
      *
      * @param locale the locale in question
      *
@@ -92,23 +98,17 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
     public GraphQLError interpolate(String messageTemplate, Map<String, Object> messageParams, ValidationEnvironment validationEnvironment) {
 
         ErrorClassification errorClassification = buildErrorClassification(messageTemplate, messageParams, validationEnvironment);
-        String message = interpolateMessageImpl(messageTemplate, messageParams, validationEnvironment);
-
-        GraphqlErrorBuilder errorBuilder = GraphqlErrorBuilder.newError()
-                .message(message)
-                .errorType(errorClassification)
-                .path(validationEnvironment.getExecutionPath());
-        if (validationEnvironment.getLocation() != null) {
-            errorBuilder.location(validationEnvironment.getLocation());
-        }
-        return errorBuilder.build();
+        //
+        // the message is only rendered when someone asks for it, by which time the environment may well have moved on,
+        // so the error keeps hold of the few parts of it that the message can use
+        return new InterpolatedError(messageTemplate, messageParams, validationEnvironment, errorClassification);
     }
 
-    private String interpolateMessageImpl(String messageTemplate, Map<String, Object> messageParams, ValidationEnvironment validationEnvironment) {
-        Locale locale = validationEnvironment.getLocale() == null ? defaultLocale : validationEnvironment.getLocale();
+    private String interpolateMessageImpl(String messageTemplate, Map<String, Object> messageParams, Object validatedValue, Map<String, Object> expressionVariables, Locale locale) {
+        locale = locale == null ? defaultLocale : locale;
         messageTemplate = loadMessageResource(messageTemplate, locale);
 
-        MessageInterpolatorContext context = buildHibernateContext(messageParams, validationEnvironment);
+        MessageInterpolatorContext context = buildHibernateContext(messageParams, validatedValue, expressionVariables);
         if (locale == null) {
             // let hibernate code do the local defaulting
             return hibernateInterpolator().interpolate(messageTemplate, context);
@@ -118,44 +118,46 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
     }
 
     private String loadMessageResource(String messageTemplate, Locale locale) {
-        ResourceBundle resourceBundle = getResourceBundle(locale);
-        Optional<String> bundleMessage = loadMessageFromBundle(messageTemplate, resourceBundle);
-        if (!bundleMessage.isPresent()) {
-            bundleMessage = loadMessageFromBundle(messageTemplate, userResourceBundleLocator.getResourceBundle(locale));
-            if (!bundleMessage.isPresent()) {
-                bundleMessage = loadMessageFromBundle(messageTemplate, systemResourceBundleLocator.getResourceBundle(locale));
-            }
+        String message = messageCatalog(locale).get(messageTemplate);
+        return message != null ? message : messageTemplate;
+    }
+
+    private Map<String, String> messageCatalog(Locale locale) {
+        Map<String, String> catalog = messageCatalogs.get(locale);
+        if (catalog == null) {
+            catalog = messageCatalogs.computeIfAbsent(locale, this::buildMessageCatalog);
         }
-        return bundleMessage.orElse(messageTemplate);
+        return catalog;
+    }
+
+    /*
+     * Flattens the bundles into the one map, with the override bundle winning over the user bundle which in turn
+     * wins over the system bundle.  Any key not in the map is not in any of the bundles.
+     */
+    private Map<String, String> buildMessageCatalog(Locale locale) {
+        Map<String, String> catalog = new HashMap<>();
+        addToCatalog(catalog, systemResourceBundleLocator.getResourceBundle(locale));
+        addToCatalog(catalog, userResourceBundleLocator.getResourceBundle(locale));
+        addToCatalog(catalog, getResourceBundle(locale));
+        return Collections.unmodifiableMap(catalog);
     }
 
-    private Optional<String> loadMessageFromBundle(String messageTemplate, ResourceBundle resourceBundle) {
+    private void addToCatalog(Map<String, String> catalog, ResourceBundle resourceBundle) {
         if (resourceBundle == null) {
-            return Optional.empty();
+            return;
         }
-        try {
-            //noinspection ConstantConditions
-            return Optional.ofNullable(resourceBundle.getString(messageTemplate));
-        } catch (MissingResourceException ignored) {
-            return Optional.empty();
+        for (String key : resourceBundle.keySet()) {
+            Object value = resourceBundle.getObject(key);
+            if (value instanceof String) {
+                catalog.put(key, (String) value);
+            }
         }
     }
 
     @SuppressWarnings("ConstantConditions")
-    private MessageInterpolatorContext buildHibernateContext(Map<String, Object> messageParams, ValidationEnvironment validationEnvironment) {
-
-        Object validatedValue = validationEnvironment.getValidatedValue();
-
-        ConstraintAnnotationDescriptor<BridgeAnnotation> annotationDescriptor
-                = new ConstraintAnnotationDescriptor.Builder<>(BridgeAnnotation.class).build();
-
-        ConstraintDescriptorImpl<BridgeAnnotation> constraintDescriptor
-                = new ConstraintDescriptorImpl<>(
-                ConstraintHelper.forAllBuiltinConstraints(), null,
-                annotationDescriptor, ConstraintLocationKind.FIELD, ConstraintType.GENERIC
-        );
+    private MessageInterpolatorContext buildHibernateContext(Map<String, Object> messageParams, Object validatedValue, Map<String, Object> expressionVariables) {
 
-        Map<String, Object> expressionVariables = StandardELVariables.standardELVars(validationEnvironment);
+        ConstraintDescriptorImpl<BridgeAnnotation> constraintDescriptor = HibernateSupport.CONSTRAINT_DESCRIPTOR;
 
         Class<?> rootBeanType = null;
         Path propertyPath = null;
@@ -166,7 +168,23 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
     }
 
     private org.hibernate.validator.messageinterpolation.ResourceBundleMessageInterpolator hibernateInterpolator() {
-        return new org.hibernate.validator.messageinterpolation.ResourceBundleMessageInterpolator();
+        return HibernateSupport.INTERPOLATOR;
+    }
+
+    /**
+     * The Hibernate interpolator is thread safe and caches the templates it has parsed per locale, so one
+     * instance is shared by all errors.  The constraint descriptor is the same for every error
+     * and so is shared as well.  They are held here so they are only built when first needed.
+     */
+    private static class HibernateSupport {
+        static final org.hibernate.validator.messageinterpolation.ResourceBundleMessageInterpolator INTERPOLATOR
+                = new org.hibernate.validator.messageinterpolation.ResourceBundleMessageInterpolator();
+
+        static final ConstraintDescriptorImpl<BridgeAnnotation> CONSTRAINT_DESCRIPTOR = new ConstraintDescriptorImpl<>(
+                ConstraintHelper.forAllBuiltinConstraints(), null,
+                new ConstraintAnnotationDescriptor.Builder<>(BridgeAnnotation.class).build(),
+                ConstraintLocationKind.FIELD, ConstraintType.GENERIC
+        );
     }
 
     /// we just need an annotation to compile - we never use its
@@ -183,6 +201,87 @@ public class ResourceBundleMessageInterpolator implements MessageInterpolator {
         Class<? extends Payload>[] payload() default {};
     }
 
+    /**
+     * A {@link graphql.GraphQLError} whose message is only interpolated the first time it is asked for, since
+     * many errors are dropped without their messages ever being looked at.  That means that a message template that
+     * fails to interpolate fails when the error is first read, typically as the result is serialised.
+     */
+    private class InterpolatedError implements GraphQLError {
+        private final String messageTemplate;
+        private final Map<String, Object> messageParams;
+        private final Object validatedValue;
+        private final Map<String, Object> expressionVariables;
+        private final Locale locale;
+        private final ErrorClassification errorClassification;
+        private final List<SourceLocation> locations;
+        private final List<Object> path;
+        private volatile String message;
+
+        InterpolatedError(String messageTemplate, Map<String, Object> messageParams, ValidationEnvironment validationEnvironment, ErrorClassification errorClassification) {
+            this.messageTemplate = messageTemplate;
+            this.messageParams = messageParams;
+            this.validatedValue = validationEnvironment.getValidatedValue();
+            this.expressionVariables = StandardELVariables.standardELVars(validationEnvironment);
+            this.locale = validationEnvironment.getLocale();
+            this.errorClassification = errorClassification;
+            SourceLocation location = validationEnvironment.getLocation();
+            this.locations = location == null ? Collections.emptyList() : Collections.singletonList(location);
+            ResultPath executionPath = validationEnvironment.getExecutionPath();
+            this.path = executionPath == null ? null : executionPath.toList();
+        }
+
+        @Override
+        public String getMessage() {
+            String message = this.message;
+            if (message == null) {
+                // rendering is idempotent so racing threads will simply come up with the same message
+                message = interpolateMessageImpl(messageTemplate, messageParams, validatedValue, expressionVariables, locale);
+                this.message = message;
+            }
+            return message;
+        }
+
+        @Override
+        public List<SourceLocation> getLocations() {
+            return locations;
+        }
+
+        @Override
+        public ErrorClassification getErrorType() {
+            return errorClassification;
+        }
+
+        @Override
+        public List<Object> getPath() {
+            return path;
+        }
+
+        @Override
+        public Map<String, Object> toSpecification() {
+            return GraphqlErrorHelper.toSpecification(this);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return GraphqlErrorHelper.equals(this, o);
+        }
+
+        @Override
+        public int hashCode() {
+            return GraphqlErrorHelper.hashCode(this);
+        }
+
+        @Override
+        public String toString() {
+            return "InterpolatedError{" +
+                    "message='" + getMessage() + '\'' +
+                    ", locations=" + locations +
+                    ", path=" + path +
+                    ", errorType=" + errorClassification +
+                    '}';
+        }
+    }
+
     private static class ValidationErrorType implements ErrorClassification {
         private final ResultPath fieldOrArgumentPath;
         private final GraphQLAppliedDirective directive;
@@ -0,0 +1,229 @@
+package graphql.validation.preparsed;
+
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.PublicApi;
+import graphql.execution.CoercedVariables;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.MergedField;
+import graphql.execution.ResultPath;
+import graphql.execution.ValuesResolver;
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.validation.rules.ValidationCoordinates;
+import graphql.validation.rules.ValidationRules;
+import graphql.validation.util.Util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A {@link PreparsedDocumentProvider} that runs the validation rules against the fields of a query document whose arguments
+ * are all literals, straight after the document has been parsed and validated by graphql-java.  Those checks do not depend
+ * on the variables of a request and so a document with a bad literal argument is rejected as a whole, before it is executed.
+ * <p>
+ * This wraps another provider, which is typically a cache of documents.  The literal checks are then only made when a
+ * document is first parsed and the outcome is cached along with the document.  The errors of a cached document are
+ * the ones produced for the request that first parsed it, in the locale of that request.
+ * <p>
+ * Only the rules that depend on the argument values alone are run here, which leaves out {@link graphql.validation.rules.AsyncValidationRule}s
+ * and {@link graphql.validation.rules.BlockingValidationRule}s.  Like the document validation of graphql-java, every
+ * operation and every field of the document is checked, whether or not it ends up being executed.
+ */
+@PublicApi
+public class LiteralValidationDocumentProvider implements PreparsedDocumentProvider {
+
+    private final ValidationRules validationRules;
+    private final GraphQLSchema schema;
+    private final PreparsedDocumentProvider delegate;
+
+    public LiteralValidationDocumentProvider(ValidationRules validationRules, GraphQLSchema schema) {
+        this(validationRules, schema, NoOpPreparsedDocumentProvider.INSTANCE);
+    }
+
+    public LiteralValidationDocumentProvider(ValidationRules validationRules, GraphQLSchema schema, PreparsedDocumentProvider delegate) {
+        this.validationRules = validationRules;
+        this.schema = schema;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return delegate.getDocumentAsync(executionInput, input -> {
+            PreparsedDocumentEntry documentEntry = parseAndValidateFunction.apply(input);
+            if (documentEntry.hasErrors()) {
+                return documentEntry;
+            }
+            List<GraphQLError> errors = validateLiterals(documentEntry.getDocument(), input);
+            return errors.isEmpty() ? documentEntry : new PreparsedDocumentEntry(errors);
+        });
+    }
+
+    /**
+     * Runs the validation rules against the fields of the document whose arguments are all literals
+     *
+     * @param document       a valid document
+     * @param executionInput the request the document is for
+     *
+     * @return a list of zero or more input data validation errors
+     */
+    public List<GraphQLError> validateLiterals(Document document, ExecutionInput executionInput) {
+        LiteralWalk walk = new LiteralWalk(document, executionInput);
+        for (OperationDefinition operationDefinition : document.getDefinitionsOfType(OperationDefinition.class)) {
+            GraphQLObjectType rootType = rootType(operationDefinition);
+            if (rootType != null && !walk.isErrorLimitReached()) {
+                walk.operationDefinition = operationDefinition;
+                walk.validatedFields.clear();
+                walk.selectionSet(operationDefinition.getSelectionSet(), rootType, ResultPath.rootPath());
+            }
+        }
+        return walk.errors;
+    }
+
+    private GraphQLObjectType rootType(OperationDefinition operationDefinition) {
+        switch (operationDefinition.getOperation()) {
+            case MUTATION:
+                return schema.getMutationType();
+            case SUBSCRIPTION:
+                return schema.getSubscriptionType();
+            default:
+                return schema.getQueryType();
+        }
+    }
+
+    private class LiteralWalk {
+        private final Document document;
+        private final ExecutionInput executionInput;
+        private final Map<String, FragmentDefinition> fragmentsByName;
+        private final List<GraphQLError> errors = new ArrayList<>();
+        // the same field can be selected more than once, for example via two fragments, and yet it is only executed once.
+        // Fields of different types can share a path though, as can fields with different arguments under different parents
+        private final Set<List<Object>> validatedFields = new HashSet<>();
+        private OperationDefinition operationDefinition;
+
+        LiteralWalk(Document document, ExecutionInput executionInput) {
+            this.document = document;
+            this.executionInput = executionInput;
+            this.fragmentsByName = new HashMap<>();
+            for (FragmentDefinition fragmentDefinition : document.getDefinitionsOfType(FragmentDefinition.class)) {
+                fragmentsByName.put(fragmentDefinition.getName(), fragmentDefinition);
+            }
+        }
+
+        boolean isErrorLimitReached() {
+            return errors.size() >= validationRules.getMaxErrorsPerRequest();
+        }
+
+        void selectionSet(SelectionSet selectionSet, GraphQLType parentType, ResultPath path) {
+            for (Selection<?> selection : selectionSet.getSelections()) {
+                if (isErrorLimitReached()) {
+                    return;
+                }
+                if (selection instanceof Field) {
+                    field((Field) selection, parentType, path);
+                } else if (selection instanceof InlineFragment) {
+                    InlineFragment inlineFragment = (InlineFragment) selection;
+                    GraphQLType fragmentType = inlineFragment.getTypeCondition() == null ? parentType : schema.getType(inlineFragment.getTypeCondition().getName());
+                    selectionSet(inlineFragment.getSelectionSet(), fragmentType, path);
+                } else if (selection instanceof FragmentSpread) {
+                    FragmentDefinition fragmentDefinition = fragmentsByName.get(((FragmentSpread) selection).getName());
+                    selectionSet(fragmentDefinition.getSelectionSet(), schema.getType(fragmentDefinition.getTypeCondition().getName()), path);
+                }
+            }
+        }
+
+        void field(Field field, GraphQLType parentType, ResultPath path) {
+            if (field.getName().startsWith("__") || !(parentType instanceof GraphQLFieldsContainer)) {
+                return;
+            }
+            GraphQLFieldsContainer fieldsContainer = (GraphQLFieldsContainer) parentType;
+            GraphQLFieldDefinition fieldDefinition = fieldsContainer.getFieldDefinition(field.getName());
+            ResultPath fieldPath = path.segment(field.getResultKey());
+            if (!Util.hasVariableReferences(field.getArguments())) {
+                Map<String, Object> argumentValues = argumentValues(field, fieldDefinition);
+                ValidationCoordinates coordinates = ValidationCoordinates.newCoordinates(fieldsContainer, fieldDefinition);
+                if (validatedFields.add(Arrays.asList(fieldPath, coordinates, argumentValues))) {
+                    errors.addAll(validateField(field, fieldsContainer, fieldPath));
+                }
+            }
+            if (field.getSelectionSet() != null) {
+                GraphQLType fieldType = GraphQLTypeUtil.unwrapAll(fieldDefinition.getType());
+                if (fieldType instanceof GraphQLCompositeType) {
+                    selectionSet(field.getSelectionSet(), fieldType, fieldPath);
+                }
+            }
+        }
+
+        /*
+         * A field selected on an interface is only invalid if it is invalid for every object type that implements it,
+         * since it is not known which object types the field will be executed on
+         */
+        List<GraphQLError> validateField(Field field, GraphQLFieldsContainer fieldsContainer, ResultPath fieldPath) {
+            List<GraphQLError> fieldErrors = Collections.emptyList();
+            for (GraphQLObjectType objectType : Util.possibleObjectTypes(schema, fieldsContainer)) {
+                GraphQLFieldDefinition fieldDefinition = objectType.getFieldDefinition(field.getName());
+                Map<String, Object> argumentValues = argumentValues(field, fieldDefinition);
+                MergedField mergedField = MergedField.newMergedField(field).build();
+                ExecutionStepInfo executionStepInfo = ExecutionStepInfo.newExecutionStepInfo()
+                        .type(fieldDefinition.getType())
+                        .fieldDefinition(fieldDefinition)
+                        .fieldContainer(objectType)
+                        .field(mergedField)
+                        .path(fieldPath)
+                        .build();
+                DataFetchingEnvironment env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                        .graphQLSchema(schema)
+                        .graphQLContext(executionInput.getGraphQLContext())
+                        .locale(executionInput.getLocale())
+                        .root(executionInput.getRoot())
+                        .document(document)
+                        .operationDefinition(operationDefinition)
+                        .fragmentsByName(fragmentsByName)
+                        .fieldDefinition(fieldDefinition)
+                        .mergedField(mergedField)
+                        .fieldType(fieldDefinition.getType())
+                        .parentType(objectType)
+                        .executionStepInfo(executionStepInfo)
+                        .arguments(argumentValues)
+                        .build();
+
+                fieldErrors = validationRules.runSynchronousValidationRules(env, validationRules.getMaxErrorsPerRequest() - errors.size());
+                if (fieldErrors.isEmpty()) {
+                    return fieldErrors;
+                }
+            }
+            return fieldErrors;
+        }
+
+        Map<String, Object> argumentValues(Field field, GraphQLFieldDefinition fieldDefinition) {
+            return ValuesResolver.getArgumentValues(schema.getCodeRegistry(), fieldDefinition.getArguments(), field.getArguments(),
+                    CoercedVariables.emptyVariables(), executionInput.getGraphQLContext(), executionInput.getLocale());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package graphql.validation.rules;
+
+import graphql.GraphQLError;
+import graphql.PublicSpi;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An AsyncValidationRule is a {@link ValidationRule} whose validation may need to wait on I/O, such as checking
+ * that a referenced entity exists, and so returns a {@link java.util.concurrent.CompletionStage} rather than
+ * blocking the calling thread.
+ * <p>
+ * The validating data fetchers compose these stages with the original data fetcher so that no thread waits on them.
+ * The original data fetcher is only called once the stages have completed without rejecting the field.  If it makes
+ * {@link org.dataloader.DataLoader} calls then those come after the data loaders of its level have been dispatched, and
+ * so graphql-java must be asked to dispatch chained data loaders, see
+ * {@code graphql.execution.instrumentation.dataloader.DataLoaderDispatchingContextKeys#setEnableDataLoaderChaining}.
+ * Code that can only validate synchronously, such as {@link ValidationRules#runValidationRules(graphql.schema.DataFetchingEnvironment)},
+ * calls {@link #runValidation(ValidationEnvironment)} which by default waits for the stage to complete.
+ * <p>
+ * The environment passed in can be held on to until the stage completes.
+ */
+@PublicSpi
+public interface AsyncValidationRule extends ValidationRule {
+
+    /**
+     * This is called to run the rule without blocking.  It is invoked in the same places as
+     * {@link ValidationRule#runValidation(ValidationEnvironment)}.
+     *
+     * @param validationEnvironment the validation environment
+     *
+     * @return a stage that completes with a non null list of errors where emptyList() means its valid
+     */
+    CompletionStage<List<GraphQLError>> runValidationAsync(ValidationEnvironment validationEnvironment);
+
+    /**
+     * By default this waits for {@link #runValidationAsync(ValidationEnvironment)} to complete
+     *
+     * @param validationEnvironment the validation environment
+     *
+     * @return a non null list of errors where emptyList() means its valid
+     */
+    @Override
+    default List<GraphQLError> runValidation(ValidationEnvironment validationEnvironment) {
+        return runValidationAsync(validationEnvironment).toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,17 @@
+package graphql.validation.rules;
+
+import graphql.PublicSpi;
+
+/**
+ * A BlockingValidationRule is a {@link ValidationRule} whose {@link #runValidation(ValidationEnvironment)} blocks, for
+ * example on a JDBC lookup or a file read.
+ * <p>
+ * When a field is validated by the validating data fetchers, these rules are run on the executor set via
+ * {@link ValidationRules.Builder#blockingRuleExecutor(java.util.concurrent.Executor)} so that the graphql execution
+ * threads are never held up by them.  When validation has to happen synchronously they are run in place.
+ * <p>
+ * The environment passed in is a snapshot that the rule can hold on to.
+ */
+@PublicSpi
+public interface BlockingValidationRule extends ValidationRule {
+}
@@ -0,0 +1,88 @@
+package graphql.validation.rules;
+
+import graphql.GraphQLContext;
+import graphql.Internal;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The fields that have already been found to be valid in a request, by their coordinates and argument values.  It lives
+ * in the {@link graphql.GraphQLContext} of the request, so a field under a list that is executed once per element with
+ * the same arguments is only validated once.
+ * <p>
+ * The argument values are compared by equals, so the same values given via different literals or variables are
+ * recognised.  Only valid outcomes are remembered.  Errors name the path they were found at, and so a field with invalid
+ * arguments is validated again wherever it is executed.
+ *
+ * @see ValidationRules.Builder#validateEachArgumentSetOnce(boolean)
+ */
+@Internal
+public class FieldValidationMemo {
+
+    private final Set<Key> validFields = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Gets the memo of the request, creating it if this is the first time it is asked for
+     *
+     * @param graphQLContext the context of the request
+     *
+     * @return the memo of the request
+     */
+    public static FieldValidationMemo getOrCreate(GraphQLContext graphQLContext) {
+        return graphQLContext.computeIfAbsent(FieldValidationMemo.class, key -> new FieldValidationMemo());
+    }
+
+    /**
+     * @param coordinates    the coordinates of the field
+     * @param argumentValues the argument values of the field
+     *
+     * @return true if the field has already been found to be valid with these argument values
+     */
+    public boolean isValid(ValidationCoordinates coordinates, Map<String, Object> argumentValues) {
+        return validFields.contains(new Key(coordinates, argumentValues));
+    }
+
+    /**
+     * Records that the field is valid with these argument values
+     *
+     * @param coordinates    the coordinates of the field
+     * @param argumentValues the argument values of the field
+     */
+    public void markValid(ValidationCoordinates coordinates, Map<String, Object> argumentValues) {
+        validFields.add(new Key(coordinates, argumentValues));
+    }
+
+    private static class Key {
+        private final ValidationCoordinates coordinates;
+        private final Map<String, Object> argumentValues;
+        private final int hashCode;
+
+        Key(ValidationCoordinates coordinates, Map<String, Object> argumentValues) {
+            this.coordinates = coordinates;
+            this.argumentValues = argumentValues;
+            this.hashCode = Objects.hash(coordinates, argumentValues);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key that = (Key) o;
+            return hashCode == that.hashCode &&
+                    coordinates.equals(that.coordinates) &&
+                    argumentValues.equals(that.argumentValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,727 @@
+package graphql.validation.rules;
+
+import graphql.Assert;
+import graphql.GraphQLError;
+import graphql.Internal;
+import graphql.execution.ResultPath;
+import graphql.language.Argument;
+import graphql.language.VariableReference;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirectiveContainer;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.util.FpKit;
+import graphql.validation.constraints.DirectiveConstraint;
+import graphql.validation.interpolation.MessageInterpolator;
+import graphql.validation.locale.LocaleUtil;
+import graphql.validation.util.Util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import static graphql.validation.rules.ValidationEnvironment.ValidatedElement.ARGUMENT;
+import static graphql.validation.rules.ValidationEnvironment.ValidatedElement.FIELD;
+
+/**
+ * A FieldValidationPlan is the compiled form of the {@link TargetedValidationRules} that apply to one field.
+ * <p>
+ * All the schema introspection is done when the plan is built.  For each argument it holds a tree of the input value
+ * positions that have rules to run, with the rules for each position already resolved.  Positions that can never
+ * produce an error are left out of the tree, so running the plan only walks the parts of the argument values
+ * that need validating.
+ * <p>
+ * Plans are immutable and can be shared between threads.
+ */
+@Internal
+public class FieldValidationPlan {
+
+    private final GraphQLFieldsContainer fieldsContainer;
+    private final GraphQLFieldDefinition fieldDefinition;
+    private final List<ValidationRule> fieldRules;
+    private final List<GraphQLAppliedDirective> fieldDirectives;
+    private final Object[] compiledFieldDirectives;
+    private final List<ArgumentPlan> argumentPlans;
+    private final boolean hasAsyncRules;
+
+    private FieldValidationPlan(GraphQLFieldsContainer fieldsContainer, GraphQLFieldDefinition fieldDefinition, List<ValidationRule> fieldRules, List<ArgumentPlan> argumentPlans) {
+        this.fieldsContainer = fieldsContainer;
+        this.fieldDefinition = fieldDefinition;
+        this.fieldRules = Collections.unmodifiableList(fieldRules);
+        this.fieldDirectives = fieldDefinition.getAppliedDirectives();
+        this.compiledFieldDirectives = compileDirectives(fieldDirectives, fieldRules);
+        this.argumentPlans = Collections.unmodifiableList(argumentPlans);
+        boolean hasAsyncRules = fieldRules.stream().anyMatch(FieldValidationPlan::isAsync);
+        for (ArgumentPlan argumentPlan : argumentPlans) {
+            hasAsyncRules |= Arrays.stream(argumentPlan.rules).anyMatch(FieldValidationPlan::isAsync);
+        }
+        this.hasAsyncRules = hasAsyncRules;
+    }
+
+    public GraphQLFieldsContainer getFieldsContainer() {
+        return fieldsContainer;
+    }
+
+    public GraphQLFieldDefinition getFieldDefinition() {
+        return fieldDefinition;
+    }
+
+    public boolean isEmpty() {
+        return fieldRules.isEmpty() && argumentPlans.isEmpty();
+    }
+
+    /*
+     * Only the outcome of such rules can be reused for a value wherever it is seen, as any other rule may look at the
+     * field, its sibling arguments or the request
+     */
+    private static boolean dependsOnValueAlone(ValidationRule rule) {
+        return rule instanceof DirectiveConstraint && ((DirectiveConstraint) rule).dependsOnValueAlone() && !isAsync(rule);
+    }
+
+    private static boolean isAsync(ValidationRule rule) {
+        return rule instanceof AsyncValidationRule || rule instanceof BlockingValidationRule;
+    }
+
+    /**
+     * @return true if the plan has {@link AsyncValidationRule}s or {@link BlockingValidationRule}s that should be run via
+     * {@link #runValidationAsync(DataFetchingEnvironment, MessageInterpolator, Locale, int)}
+     */
+    public boolean hasAsyncRules() {
+        return hasAsyncRules;
+    }
+
+    /**
+     * Runs the plan against the currently executing field named by the {@link graphql.schema.DataFetchingEnvironment}
+     *
+     * @param env           the field being executed
+     * @param interpolator  the message interpolator to use
+     * @param defaultLocale the default locale in play
+     *
+     * @return a list of zero or more input data validation errors
+     */
+    public List<GraphQLError> runValidation(DataFetchingEnvironment env, MessageInterpolator interpolator, Locale defaultLocale) {
+        return runValidation(env, interpolator, defaultLocale, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Runs the plan against the currently executing field named by the {@link graphql.schema.DataFetchingEnvironment} but
+     * stops as soon as the specified number of errors have been found.  Any {@link AsyncValidationRule}s are waited on.
+     *
+     * @param env           the field being executed
+     * @param interpolator  the message interpolator to use
+     * @param defaultLocale the default locale in play
+     * @param maxErrors     the most errors to find before stopping
+     *
+     * @return a list of at most maxErrors input data validation errors
+     */
+    public List<GraphQLError> runValidation(DataFetchingEnvironment env, MessageInterpolator interpolator, Locale defaultLocale, int maxErrors) {
+        return runValidation(env, interpolator, defaultLocale, ValidationOptions.DEFAULT.withMaxErrors(maxErrors));
+    }
+
+    /**
+     * Runs the plan against the currently executing field named by the {@link graphql.schema.DataFetchingEnvironment} with
+     * the specified options.  Any {@link AsyncValidationRule}s are waited on.
+     *
+     * @param env           the field being executed
+     * @param interpolator  the message interpolator to use
+     * @param defaultLocale the default locale in play
+     * @param options       the options of the run
+     *
+     * @return a list of at most {@link ValidationOptions#getMaxErrors()} input data validation errors
+     */
+    public List<GraphQLError> runValidation(DataFetchingEnvironment env, MessageInterpolator interpolator, Locale defaultLocale, ValidationOptions options) {
+        ValidationRun run = new ValidationRun(false, options);
+        validate(env, interpolator, defaultLocale, run);
+        return run.errors();
+    }
+
+    /**
+     * Runs the plan against the currently executing field named by the {@link graphql.schema.DataFetchingEnvironment} without
+     * waiting on any {@link AsyncValidationRule}s.  The synchronous rules are run straight away.
+     *
+     * @param env           the field being executed
+     * @param interpolator  the message interpolator to use
+     * @param defaultLocale the default locale in play
+     * @param maxErrors     the most errors to report
+     *
+     * @return a future list of at most maxErrors input data validation errors
+     */
+    public CompletableFuture<List<GraphQLError>> runValidationAsync(DataFetchingEnvironment env, MessageInterpolator interpolator, Locale defaultLocale, int maxErrors) {
+        return runValidationAsync(env, interpolator, defaultLocale, ValidationOptions.DEFAULT.withMaxErrors(maxErrors));
+    }
+
+    /**
+     * Runs the plan against the currently executing field named by the {@link graphql.schema.DataFetchingEnvironment} with
+     * the specified options, without waiting on any {@link AsyncValidationRule}s.  The synchronous rules are run straight away.
+     *
+     * @param env           the field being executed
+     * @param interpolator  the message interpolator to use
+     * @param defaultLocale the default locale in play
+     * @param options       the options of the run
+     *
+     * @return a future list of at most {@link ValidationOptions#getMaxErrors()} input data validation errors
+     */
+    public CompletableFuture<List<GraphQLError>> runValidationAsync(DataFetchingEnvironment env, MessageInterpolator interpolator, Locale defaultLocale, ValidationOptions options) {
+        ValidationRun run = new ValidationRun(true, options);
+        validate(env, interpolator, defaultLocale, run);
+        if (run.pending.isEmpty()) {
+            return CompletableFuture.completedFuture(run.errors());
+        }
+        return CompletableFuture.allOf(run.pending.toArray(new CompletableFuture[0])).thenApply(done -> run.errors());
+    }
+
+    private void validate(DataFetchingEnvironment env, MessageInterpolator interpolator, Locale defaultLocale, ValidationRun run) {
+
+        defaultLocale = LocaleUtil.determineLocale(env, defaultLocale);
+
+        ResultPath fieldPath = env.getExecutionStepInfo().getPath();
+        //
+        // run the field specific rules
+        if (!fieldRules.isEmpty()) {
+            ValidationEnvironment.Builder ruleEnvironment = ValidationEnvironment.newValidationEnvironment()
+                    .dataFetchingEnvironment(env)
+                    .directives(fieldDirectives)
+                    .messageInterpolator(interpolator)
+                    .locale(defaultLocale)
+                    .validatedElement(FIELD)
+                    .validatedPath(fieldPath);
+            ValidationCursor cursor = new ValidationCursor(ruleEnvironment, compiledFieldDirectives, run.options, 0);
+
+            ErrorBucket fieldErrors = run.newBucket();
+            for (ValidationRule rule : fieldRules) {
+                if (cursor.isErrorLimitReached()) {
+                    break;
+                }
+                run.runRule(rule, cursor, fieldErrors);
+            }
+            run.errorCount = cursor.getErrorCount();
+        }
+        //
+        // run the argument specific rules next
+        VariableValidationMemo variableMemo = run.options.isValidateEachVariableOnce() && env.getGraphQlContext() != null
+                ? VariableValidationMemo.getOrCreate(env.getGraphQlContext()) : null;
+        for (ArgumentPlan argumentPlan : argumentPlans) {
+            if (run.errorCount >= run.options.getMaxErrors()) {
+                break;
+            }
+            GraphQLArgument fieldArg = argumentPlan.argument;
+            Object argValue = env.getArgument(fieldArg.getName());
+
+            String variableName = variableMemo != null && argumentPlan.memoizable ? variableNameOf(env, fieldArg.getName()) : null;
+            if (variableName != null && variableMemo.isValid(variableName, argValue, argumentPlan.target)) {
+                continue;
+            }
+
+            ValidationEnvironment.Builder ruleEnvironment = ValidationEnvironment.newValidationEnvironment()
+                    .dataFetchingEnvironment(env)
+                    .argument(fieldArg)
+                    .validatedElement(ARGUMENT)
+                    .validatedType(fieldArg.getType())
+                    .validatedValue(argValue)
+                    .validatedPath(fieldPath.segment(fieldArg.getName()))
+                    .directives(fieldArg.getAppliedDirectives())
+                    .messageInterpolator(interpolator)
+                    .locale(defaultLocale);
+
+            ValidationCursor cursor = new ValidationCursor(ruleEnvironment, argumentPlan.root.compiledDirectives, run.options, run.errorCount);
+            argumentPlan.run(cursor, run);
+            if (variableName != null && cursor.getErrorCount() == run.errorCount) {
+                variableMemo.markValid(variableName, argValue, argumentPlan.target);
+            }
+            run.errorCount = cursor.getErrorCount();
+        }
+    }
+
+    /*
+     * The name of the variable if the whole value of the argument is an operation variable
+     */
+    private static String variableNameOf(DataFetchingEnvironment env, String argumentName) {
+        if (env.getMergedField() == null) {
+            return null;
+        }
+        for (Argument argument : env.getField().getArguments()) {
+            if (argument.getName().equals(argumentName)) {
+                return argument.getValue() instanceof VariableReference ? ((VariableReference) argument.getValue()).getName() : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compiles a plan for the rules in the map that target the specified field
+     *
+     * @param fieldDefinition the field to compile for
+     * @param fieldsContainer the container of that field
+     * @param rulesMap        the rules by coordinates
+     *
+     * @return a compiled plan
+     */
+    static FieldValidationPlan compile(GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer, Map<ValidationCoordinates, List<ValidationRule>> rulesMap) {
+        ValidationCoordinates fieldCoords = ValidationCoordinates.newCoordinates(fieldsContainer, fieldDefinition);
+        List<ValidationRule> fieldRules = rulesMap.getOrDefault(fieldCoords, Collections.emptyList());
+
+        List<ArgumentPlan> argumentPlans = new ArrayList<>();
+        List<GraphQLArgument> sortedArgs = Util.sort(fieldDefinition.getArguments(), GraphQLArgument::getName);
+        for (GraphQLArgument fieldArg : sortedArgs) {
+            ValidationCoordinates argCoords = ValidationCoordinates.newCoordinates(fieldsContainer, fieldDefinition, fieldArg);
+            List<ValidationRule> rules = rulesMap.getOrDefault(argCoords, Collections.emptyList());
+            if (rules.isEmpty()) {
+                continue;
+            }
+            argumentPlans.add(new ArgumentCompiler(rules).compile(fieldArg));
+        }
+        return new FieldValidationPlan(fieldsContainer, fieldDefinition, new ArrayList<>(fieldRules), argumentPlans);
+    }
+
+    /*
+     * Each directive that belongs to one of the directive constraints is compiled once here rather than having its
+     * arguments read for every value
+     */
+    private static Object[] compileDirectives(List<GraphQLAppliedDirective> directives, List<ValidationRule> rules) {
+        if (directives.isEmpty()) {
+            return null;
+        }
+        Object[] compiled = new Object[directives.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            GraphQLAppliedDirective directive = directives.get(i);
+            for (ValidationRule rule : rules) {
+                if (rule instanceof DirectiveConstraint && ((DirectiveConstraint) rule).getName().equals(directive.getName())) {
+                    compiled[i] = ((DirectiveConstraint) rule).compileDirective(directive);
+                    break;
+                }
+            }
+        }
+        return compiled;
+    }
+
+    private static class ArgumentPlan {
+        private final GraphQLArgument argument;
+        private final ValidationRule[] rules;
+        private final InputNode root;
+        private final ArgumentTarget target;
+        private final boolean memoizable;
+
+        ArgumentPlan(GraphQLArgument argument, ValidationRule[] rules, InputNode root) {
+            this.argument = argument;
+            this.rules = rules;
+            this.root = root;
+            this.target = new ArgumentTarget(argument, rules);
+            this.memoizable = Arrays.stream(rules).allMatch(FieldValidationPlan::dependsOnValueAlone);
+        }
+
+        /*
+         * The argument value is walked once with a cursor and the rules of each position are run there.  The errors are gathered
+         * per rule so that they come out in the same order as if each rule had walked the whole value on its own.  The walk stops
+         * once the cursor has seen as many errors as it is allowed.
+         */
+        void run(ValidationCursor cursor, ValidationRun run) {
+            ErrorBucket[] errorsPerRule = new ErrorBucket[rules.length];
+            for (int i = 0; i < rules.length; i++) {
+                errorsPerRule[i] = run.newBucket();
+            }
+
+            walk(root, errorsPerRule, cursor, run);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void walk(InputNode node, ErrorBucket[] errorsPerRule, ValidationCursor cursor, ValidationRun run) {
+            for (int ruleIndex : node.ruleIndexes) {
+                if (cursor.isErrorLimitReached()) {
+                    return;
+                }
+                run.runRule(rules[ruleIndex], cursor, errorsPerRule[ruleIndex]);
+            }
+            Object validatedValue = cursor.getValidatedValue();
+            if (validatedValue == null) {
+                return;
+            }
+
+            if (node.listElement != null) {
+                InputNode elementNode = node.listElement;
+                Collection<Object> values = FpKit.toCollection(validatedValue);
+                if (!run.async && cursor.getOptions().isParallel(values.size())) {
+                    walkInParallel(elementNode, new ArrayList<>(values), errorsPerRule, cursor);
+                } else {
+                    int ix = 0;
+                    for (Object value : values) {
+                        if (cursor.isErrorLimitReached()) {
+                            return;
+                        }
+                        walkElement(elementNode, ix, value, errorsPerRule, cursor, run);
+                        ix++;
+                    }
+                }
+            }
+
+            if (node.inputObject != null) {
+                if (!(validatedValue instanceof Map)) {
+                    Assert.assertShouldNeverHappen("How can there be a `input` object type '%s' that does not have a matching Map java value", GraphQLTypeUtil.simplePrint(node.inputType));
+                }
+                Map<String, Object> objectMap = (Map<String, Object>) validatedValue;
+                for (InputFieldNode fieldNode : node.inputObject.fields) {
+                    Object value = objectMap.getOrDefault(fieldNode.name, fieldNode.defaultValue);
+                    if (value == null) {
+                        continue;
+                    }
+                    if (cursor.isErrorLimitReached()) {
+                        return;
+                    }
+
+                    cursor.pushField(fieldNode.name, value, fieldNode.node.inputType, fieldNode.node.directives, fieldNode.node.compiledDirectives);
+                    try {
+                        walk(fieldNode.node, errorsPerRule, cursor, run);
+                    } finally {
+                        cursor.pop();
+                    }
+                }
+            }
+        }
+
+        private void walkElement(InputNode elementNode, int ix, Object value, ErrorBucket[] errorsPerRule, ValidationCursor cursor, ValidationRun run) {
+            cursor.pushElement(ix, value, elementNode.inputType, elementNode.directives, elementNode.compiledDirectives);
+            try {
+                walk(elementNode, errorsPerRule, cursor, run);
+            } finally {
+                cursor.pop();
+            }
+        }
+
+        /*
+         * Each chunk of the list is walked with its own cursor and error buckets, which are then merged in list order
+         */
+        private void walkInParallel(InputNode elementNode, List<Object> values, ErrorBucket[] errorsPerRule, ValidationCursor cursor) {
+            List<ErrorBucket[]> chunkErrors = ParallelListValidation.validateInChunks(cursor, values.size(), (chunkCursor, fromIndex, toIndex) -> {
+                ValidationRun chunkRun = new ValidationRun(false, chunkCursor.getOptions());
+                ErrorBucket[] chunkErrorsPerRule = new ErrorBucket[rules.length];
+                for (int i = 0; i < rules.length; i++) {
+                    chunkErrorsPerRule[i] = new ErrorBucket();
+                }
+                for (int ix = fromIndex; ix < toIndex; ix++) {
+                    if (chunkCursor.isErrorLimitReached()) {
+                        break;
+                    }
+                    walkElement(elementNode, ix, values.get(ix), chunkErrorsPerRule, chunkCursor, chunkRun);
+                }
+                return chunkErrorsPerRule;
+            });
+            for (ErrorBucket[] chunkErrorsPerRule : chunkErrors) {
+                for (int i = 0; i < rules.length; i++) {
+                    errorsPerRule[i].errors.addAll(chunkErrorsPerRule[i].errors);
+                    cursor.countErrors(chunkErrorsPerRule[i].errors.size());
+                }
+            }
+        }
+    }
+
+    /*
+     * What a variable is validated as when it is the value of an argument.  Arguments of different fields are the same
+     * target when they have the same type, directives and rules, in which case the same value gets the same errors as
+     * long as the rules only depend on the value, which is what makes an argument plan memoizable.
+     */
+    private static class ArgumentTarget {
+        private final GraphQLInputType type;
+        private final List<GraphQLAppliedDirective> directives;
+        private final List<ValidationRule> rules;
+
+        ArgumentTarget(GraphQLArgument argument, ValidationRule[] rules) {
+            this.type = argument.getType();
+            this.directives = argument.getAppliedDirectives();
+            this.rules = Arrays.asList(rules);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ArgumentTarget that = (ArgumentTarget) o;
+            return type == that.type && directives.equals(that.directives) && rules.equals(that.rules);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(type), directives, rules);
+        }
+    }
+
+    /*
+     * The state of one run of the plan.  The errors are kept in buckets, in the order they are to be reported,
+     * and asynchronous rules leave a place holder in their bucket that is filled in once they complete.
+     */
+    private static class ValidationRun {
+        private final boolean async;
+        private final ValidationOptions options;
+        private final List<ErrorBucket> buckets = new ArrayList<>();
+        private final List<CompletableFuture<List<GraphQLError>>> pending = new ArrayList<>();
+        private int errorCount;
+
+        ValidationRun(boolean async, ValidationOptions options) {
+            this.async = async;
+            this.options = options;
+        }
+
+        ErrorBucket newBucket() {
+            ErrorBucket bucket = new ErrorBucket();
+            buckets.add(bucket);
+            return bucket;
+        }
+
+        void runRule(ValidationRule rule, ValidationCursor cursor, ErrorBucket bucket) {
+            if (options.isSynchronousRulesOnly() && isAsync(rule)) {
+                return;
+            }
+            // the cursor moves on so these rules get an environment of their own to hold on to
+            if (async && rule instanceof AsyncValidationRule) {
+                CompletableFuture<List<GraphQLError>> ruleErrors = ((AsyncValidationRule) rule).runValidationAsync(cursor.snapshot()).toCompletableFuture();
+                bucket.addPending(ruleErrors);
+                pending.add(ruleErrors);
+            } else if (async && rule instanceof BlockingValidationRule && options.getBlockingRuleExecutor() != null) {
+                ValidationEnvironment snapshot = cursor.snapshot();
+                CompletableFuture<List<GraphQLError>> ruleErrors = CompletableFuture.supplyAsync(() -> rule.runValidation(snapshot), options.getBlockingRuleExecutor());
+                bucket.addPending(ruleErrors);
+                pending.add(ruleErrors);
+            } else {
+                List<GraphQLError> ruleErrors = rule.runValidation(cursor);
+                bucket.errors.addAll(ruleErrors);
+                cursor.countErrors(ruleErrors.size());
+            }
+        }
+
+        List<GraphQLError> errors() {
+            List<GraphQLError> errors = new ArrayList<>();
+            for (ErrorBucket bucket : buckets) {
+                bucket.drainTo(errors);
+            }
+            if (errors.size() > options.getMaxErrors()) {
+                return new ArrayList<>(errors.subList(0, options.getMaxErrors()));
+            }
+            return errors;
+        }
+    }
+
+    private static class ErrorBucket {
+        private final List<GraphQLError> errors = new ArrayList<>();
+        private List<PendingErrors> pending;
+
+        void addPending(CompletableFuture<List<GraphQLError>> future) {
+            if (pending == null) {
+                pending = new ArrayList<>();
+            }
+            pending.add(new PendingErrors(errors.size(), future));
+        }
+
+        /*
+         * Only called once all the pending errors are complete
+         */
+        void drainTo(List<GraphQLError> target) {
+            if (pending == null) {
+                target.addAll(errors);
+                return;
+            }
+            int from = 0;
+            for (PendingErrors pendingErrors : pending) {
+                target.addAll(errors.subList(from, pendingErrors.position));
+                target.addAll(pendingErrors.future.join());
+                from = pendingErrors.position;
+            }
+            target.addAll(errors.subList(from, errors.size()));
+        }
+    }
+
+    private static class PendingErrors {
+        private final int position;
+        private final CompletableFuture<List<GraphQLError>> future;
+
+        PendingErrors(int position, CompletableFuture<List<GraphQLError>> future) {
+            this.position = position;
+            this.future = future;
+        }
+    }
+
+    /*
+     * A position inside an argument value
+     */
+    private static class InputNode {
+        private final GraphQLInputType inputType;
+        private final List<GraphQLAppliedDirective> directives;
+        private final Object[] compiledDirectives;
+        private final int[] ruleIndexes;
+        private InputNode listElement;
+        private InputObjectNode inputObject;
+
+        InputNode(GraphQLInputType inputType, List<GraphQLAppliedDirective> directives, Object[] compiledDirectives, int[] ruleIndexes) {
+            this.inputType = inputType;
+            this.directives = directives;
+            this.compiledDirectives = compiledDirectives;
+            this.ruleIndexes = ruleIndexes;
+        }
+    }
+
+    /*
+     * Input object nodes are shared by all the positions of the same type inside an argument, which is
+     * how recursive input types are represented
+     */
+    private static class InputObjectNode {
+        private List<InputFieldNode> fields = new ArrayList<>();
+        private boolean live;
+    }
+
+    private static class InputFieldNode {
+        private final String name;
+        private final Object defaultValue;
+        private final InputNode node;
+
+        InputFieldNode(String name, Object defaultValue, InputNode node) {
+            this.name = name;
+            this.defaultValue = defaultValue;
+            this.node = node;
+        }
+    }
+
+    /*
+     * Compiles the tree for one argument.  This first builds the full graph of input positions, then works out which
+     * input object types can lead to a position with rules and finally prunes everything else away.
+     */
+    private static class ArgumentCompiler {
+        private final List<ValidationRule> rules;
+        private final Map<String, InputObjectNode> inputObjects = new HashMap<>();
+
+        ArgumentCompiler(List<ValidationRule> rules) {
+            this.rules = rules;
+        }
+
+        ArgumentPlan compile(GraphQLArgument argument) {
+            InputNode root = buildNode(argument.getType(), argument.getAppliedDirectives());
+
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (InputObjectNode inputObject : inputObjects.values()) {
+                    if (!inputObject.live && hasLiveField(inputObject)) {
+                        inputObject.live = true;
+                        changed = true;
+                    }
+                }
+            }
+
+            prune(root);
+            for (InputObjectNode inputObject : inputObjects.values()) {
+                List<InputFieldNode> liveFields = new ArrayList<>();
+                for (InputFieldNode fieldNode : inputObject.fields) {
+                    if (isLive(fieldNode.node)) {
+                        prune(fieldNode.node);
+                        liveFields.add(fieldNode);
+                    }
+                }
+                inputObject.fields = Collections.unmodifiableList(liveFields);
+            }
+            return new ArgumentPlan(argument, rules.toArray(new ValidationRule[0]), root);
+        }
+
+        private InputNode buildNode(GraphQLInputType inputType, List<GraphQLAppliedDirective> directives) {
+            InputNode node = new InputNode(inputType, Collections.unmodifiableList(directives), compileDirectives(directives, rules), ruleIndexes(directives));
+
+            GraphQLInputType unwrappedType = Util.unwrapNonNull(inputType);
+            if (GraphQLTypeUtil.isList(unwrappedType)) {
+                GraphQLInputType listItemType = Util.unwrapOneAndAllNonNull(unwrappedType);
+                List<GraphQLAppliedDirective> itemDirectives;
+                if (!(listItemType instanceof GraphQLDirectiveContainer)) {
+                    itemDirectives = Collections.emptyList();
+                } else {
+                    itemDirectives = ((GraphQLDirectiveContainer) listItemType).getAppliedDirectives();
+                }
+                node.listElement = buildNode(listItemType, itemDirectives);
+            }
+            if (unwrappedType instanceof GraphQLInputObjectType) {
+                node.inputObject = buildInputObject((GraphQLInputObjectType) unwrappedType);
+            }
+            return node;
+        }
+
+        private InputObjectNode buildInputObject(GraphQLInputObjectType inputObjectType) {
+            InputObjectNode inputObject = inputObjects.get(inputObjectType.getName());
+            if (inputObject != null) {
+                return inputObject;
+            }
+            inputObject = new InputObjectNode();
+            inputObjects.put(inputObjectType.getName(), inputObject);
+
+            // run them in a stable order
+            List<GraphQLInputObjectField> fieldDefinitions = Util.sort(inputObjectType.getFieldDefinitions(), GraphQLInputObjectField::getName);
+            for (GraphQLInputObjectField inputField : fieldDefinitions) {
+                InputNode fieldNode = buildNode(inputField.getType(), inputField.getAppliedDirectives());
+                Object defaultValue = GraphQLInputObjectField.getInputFieldDefaultValue(inputField);
+                inputObject.fields.add(new InputFieldNode(inputField.getName(), defaultValue, fieldNode));
+            }
+            return inputObject;
+        }
+
+        /*
+         * Directive constraints only ever produce errors at positions that carry their directive, while other
+         * rules are asked at every position
+         */
+        private int[] ruleIndexes(List<GraphQLAppliedDirective> directives) {
+            List<Integer> indexes = new ArrayList<>();
+            for (int i = 0; i < rules.size(); i++) {
+                ValidationRule rule = rules.get(i);
+                if (!(rule instanceof DirectiveConstraint) || hasDirective(directives, ((DirectiveConstraint) rule).getName())) {
+                    indexes.add(i);
+                }
+            }
+            return indexes.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private boolean hasDirective(List<GraphQLAppliedDirective> directives, String name) {
+            for (GraphQLAppliedDirective directive : directives) {
+                if (directive.getName().equals(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean hasLiveField(InputObjectNode inputObject) {
+            for (InputFieldNode fieldNode : inputObject.fields) {
+                if (isLive(fieldNode.node)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isLive(InputNode node) {
+            return node.ruleIndexes.length > 0
+                    || (node.listElement != null && isLive(node.listElement))
+                    || (node.inputObject != null && node.inputObject.live);
+        }
+
+        private void prune(InputNode node) {
+            if (node.listElement != null) {
+                if (isLive(node.listElement)) {
+                    prune(node.listElement);
+                } else {
+                    node.listElement = null;
+                }
+            }
+            if (node.inputObject != null && !node.inputObject.live) {
+                node.inputObject = null;
+            }
+        }
+    }
+}
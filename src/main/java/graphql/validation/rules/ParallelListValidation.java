@@ -0,0 +1,76 @@
+package graphql.validation.rules;
+
+import graphql.Internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Validates the elements of a large list in parallel by splitting it into contiguous chunks, each of which is
+ * walked by its own fork of the {@link ValidationCursor} on the {@link ValidationOptions#getListExecutor()}.
+ * <p>
+ * The chunk results are handed back in list order so that callers can merge their errors in the same order
+ * as if the list had been validated in turn.
+ */
+@Internal
+public class ParallelListValidation {
+
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    /**
+     * Validates one contiguous chunk of a list
+     *
+     * @param <T> the result of validating a chunk
+     */
+    public interface ChunkValidator<T> {
+        /**
+         * @param chunkCursor a cursor of its own positioned on the list
+         * @param fromIndex   the first list index of the chunk
+         * @param toIndex     the list index after the last one of the chunk
+         *
+         * @return the result of validating the chunk
+         */
+        T validate(ValidationCursor chunkCursor, int fromIndex, int toIndex);
+    }
+
+    /**
+     * @param cursor         the cursor positioned on the list
+     * @param size           the size of the list
+     * @param chunkValidator the code that validates each chunk
+     * @param <T>            the result of validating a chunk
+     *
+     * @return the results of each chunk in list order
+     */
+    public static <T> List<T> validateInChunks(ValidationCursor cursor, int size, ChunkValidator<T> chunkValidator) {
+        int chunkCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), size / MIN_CHUNK_SIZE));
+        int chunkSize = (size + chunkCount - 1) / chunkCount;
+
+        List<CompletableFuture<T>> chunks = new ArrayList<>(chunkCount);
+        // the first chunk is validated on this thread once the others have been handed off
+        for (int fromIndex = chunkSize; fromIndex < size; fromIndex += chunkSize) {
+            ValidationCursor chunkCursor = cursor.fork();
+            int chunkFrom = fromIndex;
+            int chunkTo = Math.min(size, fromIndex + chunkSize);
+            chunks.add(CompletableFuture.supplyAsync(() -> chunkValidator.validate(chunkCursor, chunkFrom, chunkTo), cursor.getOptions().getListExecutor()));
+        }
+
+        List<T> results = new ArrayList<>(chunkCount);
+        results.add(chunkValidator.validate(cursor.fork(), 0, Math.min(size, chunkSize)));
+        for (CompletableFuture<T> chunk : chunks) {
+            try {
+                results.add(chunk.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+}
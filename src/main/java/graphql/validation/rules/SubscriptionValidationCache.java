@@ -0,0 +1,55 @@
+package graphql.validation.rules;
+
+import graphql.GraphQLContext;
+import graphql.GraphQLError;
+import graphql.Internal;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The validation outcomes of the fields of a subscription.  Every event of a subscription executes the same selection
+ * with the same arguments, so the outcomes are worked out for the first event and reused for the rest.
+ * <p>
+ * It lives in the {@link graphql.GraphQLContext} of the subscription, which graphql-java shares between its events, and
+ * keeps the outcomes in a {@link ValidationOutcomeCache} scoped to that context.  As the list indexes are left out of
+ * the keys, the cache does not grow with the lists of the events.
+ *
+ * @see ValidationRules.Builder#cacheSubscriptionValidation(boolean)
+ */
+@Internal
+public class SubscriptionValidationCache {
+
+    private final ValidationOutcomeCache<GraphQLContext> outcomes = ValidationOutcomeCache.unbounded();
+
+    /**
+     * Gets the cache of the subscription, creating it if this is the first time it is asked for
+     *
+     * @param graphQLContext the context of the subscription
+     *
+     * @return the cache of the subscription
+     */
+    public static SubscriptionValidationCache getOrCreate(GraphQLContext graphQLContext) {
+        return graphQLContext.computeIfAbsent(SubscriptionValidationCache.class, key -> new SubscriptionValidationCache());
+    }
+
+    /**
+     * Gets the outcome of validating the field from an earlier event or validates it and caches the outcome
+     *
+     * @param env         the field being executed
+     * @param coordinates the coordinates of the field
+     * @param locale      the locale the error messages are in
+     * @param validation  the code that validates the field
+     * @param isComplete  whether an outcome of the validation is the whole outcome, as only those are cached
+     *
+     * @return a list of zero or more input data validation errors
+     */
+    public List<GraphQLError> computeIfAbsent(DataFetchingEnvironment env, ValidationCoordinates coordinates, Locale locale,
+                                              Supplier<List<GraphQLError>> validation, Predicate<List<GraphQLError>> isComplete) {
+        return outcomes.computeIfAbsent(env.getGraphQlContext(), env.getExecutionStepInfo().getPath(), coordinates, env.getArguments(), locale,
+                validation, isComplete);
+    }
+}
@@ -0,0 +1,377 @@
+package graphql.validation.rules;
+
+import graphql.Internal;
+import graphql.execution.ResultPath;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLInputType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A ValidationCursor is a {@link ValidationEnvironment} that is moved over an argument value as it is validated, rather
+ * than a new environment being made for every list element, input object field and directive.
+ * <p>
+ * The parts of the environment that change during the walk are kept as a stack of frames that are pushed on the way
+ * down and popped on the way back up.  The frames are only allocated on the first push, since many cursors never move
+ * off their starting value, and the validated path is only materialised when someone asks for it.
+ * <p>
+ * Rules see the cursor as a read only {@link ValidationEnvironment} but it is only valid for the duration of
+ * the {@link ValidationRule#runValidation(ValidationEnvironment)} call.  Code that wants to hold on to the
+ * environment must take a {@link #snapshot()} of it.
+ * <p>
+ * A cursor must only be used by one thread at a time, and {@link #fork()} is used to hand a part of the walk to another thread.
+ */
+@Internal
+public class ValidationCursor extends ValidationEnvironment {
+
+    private static final int INITIAL_DEPTH = 8;
+
+    private int depth;
+    //
+    // the frame arrays are null until the first push, and until then the cursor is at its root
+    private Object[] segments;
+    private ResultPath[] paths;
+    private Object[] values;
+    private GraphQLInputType[] types;
+    private List<GraphQLAppliedDirective>[] directives;
+    private ValidatedElement[] elements;
+    private GraphQLAppliedDirective[] contextDirectives;
+    private Object[][] compiledDirectives;
+    private Object[] contextCompiledDirectives;
+    private final Object[] rootCompiledDirectives;
+    private Object rootContextCompiledDirective;
+    private final ValidationOptions options;
+    private int errorCount;
+
+    public ValidationCursor(Builder builder) {
+        this(builder, null);
+    }
+
+    /**
+     * @param builder            the builder of the environment the cursor starts at
+     * @param compiledDirectives the compiled form of each of the starting directives, in the same order, or null
+     */
+    public ValidationCursor(Builder builder, Object[] compiledDirectives) {
+        this(builder, compiledDirectives, ValidationOptions.DEFAULT, 0);
+    }
+
+    /**
+     * @param builder            the builder of the environment the cursor starts at
+     * @param compiledDirectives the compiled form of each of the starting directives, in the same order, or null
+     * @param errorLimit         the number of errors after which validation can stop
+     * @param errorCount         the number of errors that have already been found
+     */
+    public ValidationCursor(Builder builder, Object[] compiledDirectives, int errorLimit, int errorCount) {
+        this(builder, compiledDirectives, ValidationOptions.DEFAULT.withMaxErrors(errorLimit), errorCount);
+    }
+
+    /**
+     * @param builder            the builder of the environment the cursor starts at
+     * @param compiledDirectives the compiled form of each of the starting directives, in the same order, or null
+     * @param options            the options of the validation run, which give the number of errors after which it can stop
+     * @param errorCount         the number of errors that have already been found
+     */
+    public ValidationCursor(Builder builder, Object[] compiledDirectives, ValidationOptions options, int errorCount) {
+        super(builder);
+        this.options = options;
+        this.errorCount = errorCount;
+        this.depth = 0;
+        this.rootCompiledDirectives = compiledDirectives;
+    }
+
+    /**
+     * Moves the cursor down onto a named input object field
+     *
+     * @param fieldName  the name of the input object field
+     * @param value      the value of that field
+     * @param type       the type of that field
+     * @param directives the directives on that field
+     */
+    public void pushField(String fieldName, Object value, GraphQLInputType type, List<GraphQLAppliedDirective> directives) {
+        pushField(fieldName, value, type, directives, null);
+    }
+
+    /**
+     * Moves the cursor down onto a named input object field
+     *
+     * @param fieldName          the name of the input object field
+     * @param value              the value of that field
+     * @param type               the type of that field
+     * @param directives         the directives on that field
+     * @param compiledDirectives the compiled form of each of those directives, in the same order, or null
+     */
+    public void pushField(String fieldName, Object value, GraphQLInputType type, List<GraphQLAppliedDirective> directives, Object[] compiledDirectives) {
+        push(fieldName, value, type, directives, compiledDirectives, ValidatedElement.INPUT_OBJECT_FIELD);
+    }
+
+    /**
+     * Moves the cursor down onto a list element
+     *
+     * @param index      the index of the list element
+     * @param value      the value of that element
+     * @param type       the type of that element
+     * @param directives the directives that apply to that element
+     */
+    public void pushElement(int index, Object value, GraphQLInputType type, List<GraphQLAppliedDirective> directives) {
+        pushElement(index, value, type, directives, null);
+    }
+
+    /**
+     * Moves the cursor down onto a list element
+     *
+     * @param index              the index of the list element
+     * @param value              the value of that element
+     * @param type               the type of that element
+     * @param directives         the directives that apply to that element
+     * @param compiledDirectives the compiled form of each of those directives, in the same order, or null
+     */
+    public void pushElement(int index, Object value, GraphQLInputType type, List<GraphQLAppliedDirective> directives, Object[] compiledDirectives) {
+        push(index, value, type, directives, compiledDirectives, getValidatedElement());
+    }
+
+    /**
+     * Moves the cursor down onto a list element that keeps the directives of its list
+     *
+     * @param index the index of the list element
+     * @param value the value of that element
+     * @param type  the type of that element
+     */
+    public void pushElement(int index, Object value, GraphQLInputType type) {
+        push(index, value, type, getDirectives(), compiledDirectivesAt(depth), getValidatedElement());
+    }
+
+    /**
+     * Keeps the cursor on the same value but changes the type it is validated as
+     *
+     * @param type the new validated type
+     */
+    public void pushType(GraphQLInputType type) {
+        push(null, getValidatedValue(), type, getDirectives(), compiledDirectivesAt(depth), getValidatedElement());
+    }
+
+    /**
+     * Keeps the cursor on the same value but sets the directive being run against it
+     *
+     * @param directive the directive that is being run
+     */
+    public void pushDirective(GraphQLAppliedDirective directive) {
+        Object compiled = compiledDirectiveOf(directive);
+        push(null, getValidatedValue(), getValidatedType(), getDirectives(), compiledDirectivesAt(depth), getValidatedElement());
+        contextDirectives[depth] = directive;
+        contextCompiledDirectives[depth] = compiled;
+    }
+
+    /**
+     * @return the compiled form of the directive being run, as made by {@link graphql.validation.constraints.DirectiveConstraint#compileDirective(GraphQLAppliedDirective)},
+     * or null if there is none to hand
+     */
+    public Object getCompiledDirective() {
+        return depth == 0 ? rootContextCompiledDirective : contextCompiledDirectives[depth];
+    }
+
+    private Object[] compiledDirectivesAt(int level) {
+        return level == 0 ? rootCompiledDirectives : compiledDirectives[level];
+    }
+
+    private Object compiledDirectiveOf(GraphQLAppliedDirective directive) {
+        Object[] compiled = compiledDirectivesAt(depth);
+        if (compiled == null) {
+            return null;
+        }
+        List<GraphQLAppliedDirective> directiveList = getDirectives();
+        int count = Math.min(compiled.length, directiveList.size());
+        for (int i = 0; i < count; i++) {
+            if (directiveList.get(i) == directive) {
+                return compiled[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records errors that have been found while the cursor was walked
+     *
+     * @param count the number of errors found
+     */
+    public void countErrors(int count) {
+        errorCount += count;
+    }
+
+    /**
+     * @return the number of errors found so far
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return true if enough errors have been found that validation can stop
+     */
+    public boolean isErrorLimitReached() {
+        return isErrorLimitReached(0);
+    }
+
+    /**
+     * Rules that check many values can use this to stop early
+     *
+     * @param pendingErrors the number of errors found by the caller that have not been counted yet
+     *
+     * @return true if enough errors have been found that validation can stop
+     */
+    public boolean isErrorLimitReached(int pendingErrors) {
+        return pendingErrors >= options.getMaxErrors() - errorCount;
+    }
+
+    /**
+     * @return the options of the validation run
+     */
+    public ValidationOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Makes a new cursor that starts where this one is, so that another thread can walk below this position.  The
+     * fork does not split lists again and the errors it counts are its own.
+     *
+     * @return a new cursor at the same position
+     */
+    public ValidationCursor fork() {
+        ValidationCursor fork = new ValidationCursor(newValidationEnvironment().validationEnvironment(this), compiledDirectivesAt(depth), options.sequential(), errorCount);
+        fork.rootContextCompiledDirective = getCompiledDirective();
+        return fork;
+    }
+
+    /**
+     * Moves the cursor back to where it was before the last push
+     */
+    public void pop() {
+        if (depth == 0) {
+            throw new IllegalStateException("The validation cursor cannot be popped past its root");
+        }
+        segments[depth] = null;
+        paths[depth] = null;
+        values[depth] = null;
+        types[depth] = null;
+        directives[depth] = null;
+        elements[depth] = null;
+        contextDirectives[depth] = null;
+        compiledDirectives[depth] = null;
+        contextCompiledDirectives[depth] = null;
+        depth--;
+    }
+
+    private void push(Object segment, Object value, GraphQLInputType type, List<GraphQLAppliedDirective> directiveList, Object[] compiled, ValidatedElement element) {
+        GraphQLAppliedDirective contextDirective = depth == 0 ? super.getContextObject(GraphQLAppliedDirective.class) : contextDirectives[depth];
+        Object contextCompiledDirective = getCompiledDirective();
+        // a push that stays on the same value keeps its path, if that has been worked out yet
+        ResultPath path = segment != null ? null : depth == 0 ? super.getValidatedPath() : paths[depth];
+        depth++;
+        if (segments == null) {
+            allocateFrames();
+        } else if (depth == segments.length) {
+            grow();
+        }
+        segments[depth] = segment;
+        paths[depth] = path;
+        values[depth] = value;
+        types[depth] = type;
+        directives[depth] = directiveList;
+        elements[depth] = element;
+        contextDirectives[depth] = contextDirective;
+        compiledDirectives[depth] = compiled;
+        contextCompiledDirectives[depth] = contextCompiledDirective;
+    }
+
+    /*
+     * The root frame is never kept in the arrays, it is read from the environment the cursor was built with
+     */
+    @SuppressWarnings("unchecked")
+    private void allocateFrames() {
+        segments = new Object[INITIAL_DEPTH];
+        paths = new ResultPath[INITIAL_DEPTH];
+        values = new Object[INITIAL_DEPTH];
+        types = new GraphQLInputType[INITIAL_DEPTH];
+        directives = new List[INITIAL_DEPTH];
+        elements = new ValidatedElement[INITIAL_DEPTH];
+        contextDirectives = new GraphQLAppliedDirective[INITIAL_DEPTH];
+        compiledDirectives = new Object[INITIAL_DEPTH][];
+        contextCompiledDirectives = new Object[INITIAL_DEPTH];
+    }
+
+    private void grow() {
+        int newLength = segments.length * 2;
+        segments = Arrays.copyOf(segments, newLength);
+        paths = Arrays.copyOf(paths, newLength);
+        values = Arrays.copyOf(values, newLength);
+        types = Arrays.copyOf(types, newLength);
+        directives = Arrays.copyOf(directives, newLength);
+        elements = Arrays.copyOf(elements, newLength);
+        contextDirectives = Arrays.copyOf(contextDirectives, newLength);
+        compiledDirectives = Arrays.copyOf(compiledDirectives, newLength);
+        contextCompiledDirectives = Arrays.copyOf(contextCompiledDirectives, newLength);
+    }
+
+    private ResultPath pathAt(int level) {
+        if (level == 0) {
+            return super.getValidatedPath();
+        }
+        ResultPath path = paths[level];
+        if (path == null) {
+            ResultPath parentPath = pathAt(level - 1);
+            Object segment = segments[level];
+            if (segment == null) {
+                path = parentPath;
+            } else if (segment instanceof Integer) {
+                path = parentPath.segment((Integer) segment);
+            } else {
+                path = parentPath.segment((String) segment);
+            }
+            paths[level] = path;
+        }
+        return path;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getContextObject(Class<T> clazz, Object... defaultVal) {
+        if (clazz == GraphQLAppliedDirective.class && depth > 0) {
+            GraphQLAppliedDirective directive = contextDirectives[depth];
+            if (directive != null) {
+                return (T) directive;
+            }
+            return defaultVal.length == 0 ? null : (T) defaultVal[0];
+        }
+        return super.getContextObject(clazz, defaultVal);
+    }
+
+    @Override
+    public ResultPath getValidatedPath() {
+        return pathAt(depth);
+    }
+
+    @Override
+    public GraphQLInputType getValidatedType() {
+        return depth == 0 ? super.getValidatedType() : types[depth];
+    }
+
+    @Override
+    public Object getValidatedValue() {
+        return depth == 0 ? super.getValidatedValue() : values[depth];
+    }
+
+    @Override
+    public ValidatedElement getValidatedElement() {
+        return depth == 0 ? super.getValidatedElement() : elements[depth];
+    }
+
+    @Override
+    public List<GraphQLAppliedDirective> getDirectives() {
+        return depth == 0 ? super.getDirectives() : directives[depth];
+    }
+
+    @Override
+    public ValidationEnvironment snapshot() {
+        return newValidationEnvironment().validationEnvironment(this).build();
+    }
+}
@@ -59,8 +59,9 @@ public class ValidationEnvironment {
 
     private final GraphQLContext graphQLContext;
     private final List<GraphQLAppliedDirective> directives;
+    private final DataFetchingEnvironment dataFetchingEnvironment;
 
-    private ValidationEnvironment(Builder builder) {
+    ValidationEnvironment(Builder builder) {
         this.argument = builder.argument;
         this.argumentValues = Collections.unmodifiableMap(builder.argumentValues);
         this.contextMap = Collections.unmodifiableMap(builder.contextMap);
@@ -76,6 +77,7 @@ public class ValidationEnvironment {
         this.validatedElement = builder.validatedElement;
         this.graphQLContext = builder.graphQLContext;
         this.directives = builder.directives;
+        this.dataFetchingEnvironment = builder.dataFetchingEnvironment;
     }
 
     public static Builder newValidationEnvironment() {
@@ -143,6 +145,29 @@ public class ValidationEnvironment {
         return graphQLContext;
     }
 
+    /**
+     * @return the data fetching environment of the field being validated or null if validation is not
+     * happening during a data fetch
+     */
+    public DataFetchingEnvironment getDataFetchingEnvironment() {
+        return dataFetchingEnvironment;
+    }
+
+    Map<Class, Object> getContextMap() {
+        return contextMap;
+    }
+
+    /**
+     * The environment passed to a rule may be a view that moves on once the rule has run.  A rule that wants
+     * to keep the environment past the {@link ValidationRule#runValidation(ValidationEnvironment)} call
+     * should keep a snapshot of it instead.
+     *
+     * @return an environment that will not change
+     */
+    public ValidationEnvironment snapshot() {
+        return this;
+    }
+
     public ValidationEnvironment transform(Consumer<Builder> builderConsumer) {
         Builder builder = newValidationEnvironment().validationEnvironment(this);
         builderConsumer.accept(builder);
@@ -165,23 +190,32 @@ public class ValidationEnvironment {
         private ValidatedElement validatedElement;
         private List<GraphQLAppliedDirective> directives = Collections.emptyList();
         private GraphQLContext graphQLContext = GraphQLContext.getDefault();
+        private DataFetchingEnvironment dataFetchingEnvironment;
 
         public Builder validationEnvironment(ValidationEnvironment validationEnvironment) {
-            this.argument = validationEnvironment.argument;
-            this.argumentValues = validationEnvironment.argumentValues;
-            this.contextMap.putAll(validationEnvironment.contextMap);
-            this.fieldDefinition = validationEnvironment.fieldDefinition;
-            this.executionPath = validationEnvironment.executionPath;
-            this.validatedPath = validationEnvironment.validatedPath;
-            this.validatedType = validationEnvironment.validatedType;
-            this.fieldsContainer = validationEnvironment.fieldsContainer;
-            this.interpolator = validationEnvironment.interpolator;
-            this.locale = validationEnvironment.locale;
-            this.location = validationEnvironment.location;
-            this.validatedValue = validationEnvironment.validatedValue;
-            this.validatedElement = validationEnvironment.validatedElement;
-            this.directives = validationEnvironment.directives;
-            this.graphQLContext = validationEnvironment.graphQLContext;
+            this.argument = validationEnvironment.getArgument();
+            this.argumentValues = validationEnvironment.getArgumentValues();
+            this.contextMap.putAll(validationEnvironment.getContextMap());
+            // a cursor keeps the directive being run out of its context map, so it is asked for that separately
+            GraphQLAppliedDirective directive = validationEnvironment.getContextObject(GraphQLAppliedDirective.class);
+            if (directive != null) {
+                this.contextMap.put(GraphQLAppliedDirective.class, directive);
+            } else {
+                this.contextMap.remove(GraphQLAppliedDirective.class);
+            }
+            this.fieldDefinition = validationEnvironment.getFieldDefinition();
+            this.executionPath = validationEnvironment.getExecutionPath();
+            this.validatedPath = validationEnvironment.getValidatedPath();
+            this.validatedType = validationEnvironment.getValidatedType();
+            this.fieldsContainer = validationEnvironment.getFieldsContainer();
+            this.interpolator = validationEnvironment.getInterpolator();
+            this.locale = validationEnvironment.getLocale();
+            this.location = validationEnvironment.getLocation();
+            this.validatedValue = validationEnvironment.getValidatedValue();
+            this.validatedElement = validationEnvironment.getValidatedElement();
+            this.directives = validationEnvironment.getDirectives();
+            this.graphQLContext = validationEnvironment.getGraphQLContext();
+            this.dataFetchingEnvironment = validationEnvironment.getDataFetchingEnvironment();
             return this;
         }
 
@@ -195,6 +229,7 @@ public class ValidationEnvironment {
             argumentValues(dataFetchingEnvironment.getArguments());
             validatedElement(ValidatedElement.FIELD);
             graphQLContext(dataFetchingEnvironment.getGraphQlContext());
+            this.dataFetchingEnvironment = dataFetchingEnvironment;
             return this;
         }
 
@@ -0,0 +1,74 @@
+package graphql.validation.rules;
+
+import graphql.GraphQLContext;
+import graphql.GraphQLError;
+import graphql.PublicApi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A ValidationErrorBudget is the number of validation errors that one request is allowed to report.  It lives in the
+ * {@link graphql.GraphQLContext} of the request and is shared by all the fields of that request, which may be validated
+ * at the same time on different threads.
+ * <p>
+ * The budget limits the errors that are reported and not which fields are rejected.  Once it is used up an invalid
+ * field is still rejected but reports no further errors, so a request never reports more errors than its budget however
+ * many invalid fields it has.  Valid fields are fetched as normal whatever the budget.
+ *
+ * @see ValidationRules.Builder#maxErrorsPerRequest(int)
+ */
+@PublicApi
+public class ValidationErrorBudget {
+
+    private final AtomicInteger remaining;
+
+    private ValidationErrorBudget(int maxErrors) {
+        this.remaining = new AtomicInteger(maxErrors);
+    }
+
+    /**
+     * Gets the budget of the request, creating it if this is the first time it is asked for
+     *
+     * @param graphQLContext the context of the request
+     * @param maxErrors      the most errors the request can report
+     *
+     * @return the budget of the request
+     */
+    public static ValidationErrorBudget getOrCreate(GraphQLContext graphQLContext, int maxErrors) {
+        return graphQLContext.computeIfAbsent(ValidationErrorBudget.class, key -> new ValidationErrorBudget(maxErrors));
+    }
+
+    /**
+     * @return the number of errors that can still be reported
+     */
+    public int getRemaining() {
+        return Math.max(0, remaining.get());
+    }
+
+    /**
+     * @return true if no more errors can be reported
+     */
+    public boolean isExhausted() {
+        return remaining.get() <= 0;
+    }
+
+    /**
+     * Takes as many of the errors of a field as the budget allows
+     *
+     * @param errors the errors of a field
+     *
+     * @return the leading errors that can be reported, which is none once the budget is used up
+     */
+    public List<GraphQLError> spend(List<GraphQLError> errors) {
+        if (errors.isEmpty()) {
+            return errors;
+        }
+        int available = remaining.getAndAdd(-errors.size());
+        if (available >= errors.size()) {
+            return errors;
+        }
+        return new ArrayList<>(errors.subList(0, Math.max(0, available)));
+    }
+}
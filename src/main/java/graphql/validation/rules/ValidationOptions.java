@@ -0,0 +1,109 @@
+package graphql.validation.rules;
+
+import graphql.Internal;
+
+import java.util.concurrent.Executor;
+
+/**
+ * The settings of {@link ValidationRules} that control how a {@link FieldValidationPlan} is run, as opposed to which
+ * rules it runs.
+ */
+@Internal
+public class ValidationOptions {
+
+    public static final ValidationOptions DEFAULT = new ValidationOptions(Integer.MAX_VALUE, Integer.MAX_VALUE, null, null, false, false);
+
+    private final int maxErrors;
+    private final int parallelListThreshold;
+    private final Executor listExecutor;
+    private final Executor blockingRuleExecutor;
+    private final boolean synchronousRulesOnly;
+    private final boolean validateEachVariableOnce;
+
+    /**
+     * @param maxErrors                the number of errors after which validation can stop
+     * @param parallelListThreshold    the size from which list elements are validated in parallel
+     * @param listExecutor             the executor to validate list elements on or null to always validate them in turn
+     * @param blockingRuleExecutor     the executor to run {@link BlockingValidationRule}s on or null to run them in place
+     * @param synchronousRulesOnly     true to leave out {@link AsyncValidationRule}s and {@link BlockingValidationRule}s
+     * @param validateEachVariableOnce true to remember the variables that were found to be valid in a {@link VariableValidationMemo}
+     */
+    public ValidationOptions(int maxErrors, int parallelListThreshold, Executor listExecutor, Executor blockingRuleExecutor, boolean synchronousRulesOnly, boolean validateEachVariableOnce) {
+        this.maxErrors = maxErrors;
+        this.parallelListThreshold = parallelListThreshold;
+        this.listExecutor = listExecutor;
+        this.blockingRuleExecutor = blockingRuleExecutor;
+        this.synchronousRulesOnly = synchronousRulesOnly;
+        this.validateEachVariableOnce = validateEachVariableOnce;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public int getParallelListThreshold() {
+        return parallelListThreshold;
+    }
+
+    public Executor getListExecutor() {
+        return listExecutor;
+    }
+
+    public Executor getBlockingRuleExecutor() {
+        return blockingRuleExecutor;
+    }
+
+    /**
+     * @return true if {@link AsyncValidationRule}s and {@link BlockingValidationRule}s, which are the rules that may look
+     * at data outside of the validated values, are left out
+     */
+    public boolean isSynchronousRulesOnly() {
+        return synchronousRulesOnly;
+    }
+
+    public boolean isValidateEachVariableOnce() {
+        return validateEachVariableOnce;
+    }
+
+    /**
+     * @param listSize the size of a list
+     *
+     * @return true if the elements of a list of that size should be validated in parallel
+     */
+    public boolean isParallel(int listSize) {
+        return listExecutor != null && listSize >= parallelListThreshold;
+    }
+
+    /**
+     * @param maxErrors the number of errors after which validation can stop
+     *
+     * @return these options with another error limit
+     */
+    public ValidationOptions withMaxErrors(int maxErrors) {
+        if (maxErrors == this.maxErrors) {
+            return this;
+        }
+        return new ValidationOptions(maxErrors, parallelListThreshold, listExecutor, blockingRuleExecutor, synchronousRulesOnly, validateEachVariableOnce);
+    }
+
+    /**
+     * @return these options without parallel list validation, which is what the parts of a list being validated in
+     * parallel use so that they do not split again
+     */
+    public ValidationOptions sequential() {
+        if (listExecutor == null) {
+            return this;
+        }
+        return new ValidationOptions(maxErrors, Integer.MAX_VALUE, null, blockingRuleExecutor, synchronousRulesOnly, validateEachVariableOnce);
+    }
+
+    /**
+     * @return these options without the {@link AsyncValidationRule}s and {@link BlockingValidationRule}s
+     */
+    public ValidationOptions synchronousRulesOnly() {
+        if (synchronousRulesOnly) {
+            return this;
+        }
+        return new ValidationOptions(maxErrors, parallelListThreshold, listExecutor, blockingRuleExecutor, true, validateEachVariableOnce);
+    }
+}
@@ -0,0 +1,151 @@
+package graphql.validation.rules;
+
+import graphql.GraphQLError;
+import graphql.Internal;
+import graphql.execution.ResultPath;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The validation outcomes of fields, kept per scope, per field path with the list indexes left out, per field
+ * coordinates, per argument values and per locale, so the fields of a list share one outcome.  Fields of different
+ * object types can share a path and coordinates, for example via type conditions further up, which is why the argument
+ * values are part of the key.
+ * <p>
+ * The scope is what executions of a field must have in common to share an outcome, such as the parsed query document
+ * or the subscription, and it is compared by identity.  Errors name the path they were found at, so they are only
+ * reused at that same path.  A valid outcome is reused everywhere.
+ *
+ * @param <S> the type of the scope
+ *
+ * @see ValidationResultCache
+ * @see SubscriptionValidationCache
+ */
+@Internal
+public class ValidationOutcomeCache<S> {
+
+    private final Map<Key<S>, CachedResult> outcomes;
+
+    private ValidationOutcomeCache(Map<Key<S>, CachedResult> outcomes) {
+        this.outcomes = outcomes;
+    }
+
+    /**
+     * @param maxSize the most outcomes to keep, after which the least recently used are dropped
+     * @param <S>     the type of the scope
+     *
+     * @return a cache that keeps a bounded number of outcomes
+     */
+    public static <S> ValidationOutcomeCache<S> bounded(int maxSize) {
+        return new ValidationOutcomeCache<>(Collections.synchronizedMap(new LinkedHashMap<Key<S>, CachedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key<S>, CachedResult> eldest) {
+                return size() > maxSize;
+            }
+        }));
+    }
+
+    /**
+     * @param <S> the type of the scope
+     *
+     * @return a cache that keeps every outcome for as long as it is itself kept
+     */
+    public static <S> ValidationOutcomeCache<S> unbounded() {
+        return new ValidationOutcomeCache<>(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Gets the cached outcome of validating the field or validates it and caches the outcome
+     *
+     * @param scope          what the executions that share the outcome have in common
+     * @param path           the path the field is executed at
+     * @param coordinates    the coordinates of the field
+     * @param argumentValues the argument values of the field
+     * @param locale         the locale the error messages are in
+     * @param validation     the code that validates the field
+     * @param isComplete     whether an outcome of the validation is the whole outcome, as only those are cached
+     *
+     * @return a list of zero or more input data validation errors
+     */
+    public List<GraphQLError> computeIfAbsent(S scope, ResultPath path, ValidationCoordinates coordinates, Map<String, Object> argumentValues, Locale locale,
+                                              Supplier<List<GraphQLError>> validation, Predicate<List<GraphQLError>> isComplete) {
+        Key<S> key = new Key<>(scope, pathPattern(path), coordinates, argumentValues, locale);
+        CachedResult cachedResult = outcomes.get(key);
+        if (cachedResult != null && (cachedResult.errors.isEmpty() || cachedResult.path.equals(path))) {
+            return cachedResult.errors;
+        }
+        List<GraphQLError> errors = validation.get();
+        if (isComplete.test(errors)) {
+            outcomes.put(key, new CachedResult(path, errors));
+        }
+        return errors;
+    }
+
+    private static String pathPattern(ResultPath path) {
+        StringBuilder pattern = new StringBuilder();
+        for (Object segment : path.toList()) {
+            if (segment instanceof String) {
+                pattern.append('/').append(segment);
+            }
+        }
+        return pattern.toString();
+    }
+
+    private static class CachedResult {
+        private final ResultPath path;
+        private final List<GraphQLError> errors;
+
+        CachedResult(ResultPath path, List<GraphQLError> errors) {
+            this.path = path;
+            this.errors = errors;
+        }
+    }
+
+    private static class Key<S> {
+        private final S scope;
+        private final String pathPattern;
+        private final ValidationCoordinates coordinates;
+        private final Map<String, Object> argumentValues;
+        private final Locale locale;
+        private final int hashCode;
+
+        Key(S scope, String pathPattern, ValidationCoordinates coordinates, Map<String, Object> argumentValues, Locale locale) {
+            this.scope = scope;
+            this.pathPattern = pathPattern;
+            this.coordinates = coordinates;
+            this.argumentValues = argumentValues;
+            this.locale = locale;
+            this.hashCode = Objects.hash(System.identityHashCode(scope), pathPattern, coordinates, argumentValues, locale);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key<?> that = (Key<?>) o;
+            return scope == that.scope &&
+                    hashCode == that.hashCode &&
+                    pathPattern.equals(that.pathPattern) &&
+                    coordinates.equals(that.coordinates) &&
+                    argumentValues.equals(that.argumentValues) &&
+                    Objects.equals(locale, that.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
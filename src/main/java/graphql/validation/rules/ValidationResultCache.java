@@ -0,0 +1,67 @@
+package graphql.validation.rules;
+
+import graphql.GraphQLError;
+import graphql.Internal;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.validation.util.Util;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of the validation outcomes of fields whose arguments are all literals in the query document.
+ * <p>
+ * When a query document is parsed once and then reused, as it is with persisted queries and with a caching
+ * {@link graphql.execution.preparsed.PreparsedDocumentProvider}, the same {@link Document} object is executed over and
+ * over with the same literal arguments.  The outcomes are kept in a {@link ValidationOutcomeCache} scoped to that
+ * document.
+ *
+ * @see ValidationRules.Builder#validationResultCache(int)
+ */
+@Internal
+public class ValidationResultCache {
+
+    private final ValidationOutcomeCache<Document> outcomes;
+
+    public ValidationResultCache(int maxSize) {
+        this.outcomes = ValidationOutcomeCache.bounded(maxSize);
+    }
+
+    /**
+     * @param env the field being executed
+     *
+     * @return true if the arguments of the field are all literals in the query document
+     */
+    public static boolean isCacheable(DataFetchingEnvironment env) {
+        if (env.getDocument() == null) {
+            return false;
+        }
+        for (Field field : env.getMergedField().getFields()) {
+            if (Util.hasVariableReferences(field.getArguments())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the cached outcome of validating the field or validates it and caches the outcome
+     *
+     * @param env         the field being executed, which must be {@link #isCacheable(DataFetchingEnvironment)}
+     * @param coordinates the coordinates of the field
+     * @param locale      the locale the error messages are in
+     * @param validation  the code that validates the field
+     * @param isComplete  whether an outcome of the validation is the whole outcome, as only those are cached
+     *
+     * @return a list of zero or more input data validation errors
+     */
+    public List<GraphQLError> computeIfAbsent(DataFetchingEnvironment env, ValidationCoordinates coordinates, Locale locale,
+                                              Supplier<List<GraphQLError>> validation, Predicate<List<GraphQLError>> isComplete) {
+        return outcomes.computeIfAbsent(env.getDocument(), env.getExecutionStepInfo().getPath(), coordinates, env.getArguments(), locale,
+                validation, isComplete);
+    }
+}
@@ -1,22 +1,39 @@
 package graphql.validation.rules;
 
+import graphql.Assert;
 import graphql.GraphQLError;
 import graphql.PublicApi;
+import graphql.language.OperationDefinition;
 import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLAppliedDirective;
 import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.constraints.DirectiveConstraint;
 import graphql.validation.constraints.DirectiveConstraints;
 import graphql.validation.interpolation.MessageInterpolator;
 import graphql.validation.interpolation.ResourceBundleMessageInterpolator;
+import graphql.validation.util.DirectiveNamesIndex;
+import graphql.validation.util.VirtualThreads;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import static graphql.Assert.assertNotNull;
 
@@ -33,14 +50,47 @@ public class ValidationRules {
 
     private final OnValidationErrorStrategy onValidationErrorStrategy;
     private final List<ValidationRule> rules;
+    //
+    // directive constraints only apply where their directive is, so they are indexed by directive name.  The
+    // rules are recorded by their position so that the rules that apply keep the order they were added in
+    private final Map<String, int[]> directiveRuleIndexes;
+    private final BitSet otherRuleIndexes;
     private final MessageInterpolator messageInterpolator;
     private final Locale locale;
+    private final int maxErrorsPerField;
+    private final int maxErrorsPerRequest;
+    private final ValidationOptions validationOptions;
+    private final ValidationResultCache validationResultCache;
+    private final boolean validateEachArgumentSetOnce;
+    private final boolean cacheSubscriptionValidation;
+    //
+    // the plans are kept per schema, with the schema weakly held so that replacing the schema lets go of its plans
+    private final Map<GraphQLSchema, ConcurrentMap<ValidationCoordinates, FieldValidationPlan>> planCache = Collections.synchronizedMap(new WeakHashMap<>());
+    private volatile SchemaPlans lastSchemaPlans;
 
     private ValidationRules(Builder builder) {
-        this.rules = Collections.unmodifiableList(builder.rules);
+        this.rules = Collections.unmodifiableList(new ArrayList<>(builder.rules));
+        this.otherRuleIndexes = new BitSet(rules.size());
+        Map<String, List<Integer>> byName = new HashMap<>();
+        for (int i = 0; i < rules.size(); i++) {
+            ValidationRule rule = rules.get(i);
+            if (rule instanceof DirectiveConstraint) {
+                byName.computeIfAbsent(((DirectiveConstraint) rule).getName(), name -> new ArrayList<>()).add(i);
+            } else {
+                otherRuleIndexes.set(i);
+            }
+        }
+        this.directiveRuleIndexes = new HashMap<>();
+        byName.forEach((name, indexes) -> directiveRuleIndexes.put(name, indexes.stream().mapToInt(Integer::intValue).toArray()));
         this.messageInterpolator = builder.messageInterpolator;
         this.onValidationErrorStrategy = builder.onValidationErrorStrategy;
         this.locale = builder.locale;
+        this.maxErrorsPerField = builder.maxErrorsPerField;
+        this.maxErrorsPerRequest = builder.maxErrorsPerRequest;
+        this.validationOptions = new ValidationOptions(maxErrorsPerField, builder.parallelListThreshold, builder.listExecutor, builder.blockingRuleExecutor, false, builder.validateEachVariableOnce);
+        this.validateEachArgumentSetOnce = builder.validateEachArgumentSetOnce;
+        this.cacheSubscriptionValidation = builder.cacheSubscriptionValidation;
+        this.validationResultCache = builder.validationResultCacheSize > 0 ? new ValidationResultCache(builder.validationResultCacheSize) : null;
     }
 
     public MessageInterpolator getMessageInterpolator() {
@@ -59,6 +109,78 @@ public class ValidationRules {
         return onValidationErrorStrategy;
     }
 
+    /**
+     * @return the most errors that validating one field will produce before it stops
+     */
+    public int getMaxErrorsPerField() {
+        return maxErrorsPerField;
+    }
+
+    /**
+     * @return the most errors that validating all the fields of one request will produce
+     */
+    public int getMaxErrorsPerRequest() {
+        return maxErrorsPerRequest;
+    }
+
+    /**
+     * @return the options that the validation plans of these rules are run with
+     */
+    public ValidationOptions getValidationOptions() {
+        return validationOptions;
+    }
+
+    /**
+     * @return the cache of the validation outcomes of fields with literal arguments or null if they are not cached
+     */
+    public ValidationResultCache getValidationResultCache() {
+        return validationResultCache;
+    }
+
+    /**
+     * Gets the memo of the fields that were found to be valid in the request that is executing, if fields are only
+     * validated once per set of argument values
+     *
+     * @param env the data fetching environment
+     *
+     * @return the memo of the request or null if fields are validated each time they are executed
+     */
+    public FieldValidationMemo getFieldValidationMemo(DataFetchingEnvironment env) {
+        if (!validateEachArgumentSetOnce || env.getGraphQlContext() == null) {
+            return null;
+        }
+        return FieldValidationMemo.getOrCreate(env.getGraphQlContext());
+    }
+
+    /**
+     * Gets the validation cache of the subscription that is executing, if the validation of subscriptions is cached
+     *
+     * @param env the data fetching environment
+     *
+     * @return the cache of the subscription or null if the field is not part of a subscription or it is not cached
+     */
+    public SubscriptionValidationCache getSubscriptionValidationCache(DataFetchingEnvironment env) {
+        if (!cacheSubscriptionValidation || env.getGraphQlContext() == null || env.getOperationDefinition() == null
+                || env.getOperationDefinition().getOperation() != OperationDefinition.Operation.SUBSCRIPTION) {
+            return null;
+        }
+        return SubscriptionValidationCache.getOrCreate(env.getGraphQlContext());
+    }
+
+    /**
+     * Gets the error budget of the request that is executing, if there is a request wide limit
+     *
+     * @param env the data fetching environment
+     *
+     * @return the error budget of the request or null if there is no limit
+     */
+    public ValidationErrorBudget getErrorBudget(DataFetchingEnvironment env) {
+        if (maxErrorsPerRequest == Integer.MAX_VALUE || env.getGraphQlContext() == null) {
+            return null;
+        }
+        return ValidationErrorBudget.getOrCreate(env.getGraphQlContext(), maxErrorsPerRequest);
+    }
+
     public TargetedValidationRules buildRulesFor(GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
         TargetedValidationRules.Builder rulesBuilder = TargetedValidationRules.newValidationRules();
 
@@ -76,21 +198,75 @@ public class ValidationRules {
         return rulesBuilder.build();
     }
 
+    /**
+     * Returns the rules that apply to the argument.  A {@link DirectiveConstraint} is only asked if its directive is on the
+     * argument or somewhere in the input types reachable from it, while other rules are always asked.
+     *
+     * @param fieldArg        the argument
+     * @param fieldDefinition the field of that argument
+     * @param fieldsContainer the container of that field
+     *
+     * @return the rules that apply in the order they were added
+     */
     public List<ValidationRule> getRulesFor(GraphQLArgument fieldArg, GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
-        return rules.stream()
-                .filter(rule -> rule.appliesTo(fieldArg, fieldDefinition, fieldsContainer))
-                .collect(Collectors.toList());
+        BitSet candidates = candidateRules(DirectiveNamesIndex.reachableDirectiveNames(fieldArg));
+        List<ValidationRule> appliesTo = new ArrayList<>();
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            ValidationRule rule = rules.get(i);
+            if (rule.appliesTo(fieldArg, fieldDefinition, fieldsContainer)) {
+                appliesTo.add(rule);
+            }
+        }
+        return appliesTo;
     }
 
+    /**
+     * Returns the rules that apply to the field.  A {@link DirectiveConstraint} is only asked if its directive is on the
+     * field, while other rules are always asked.
+     *
+     * @param fieldDefinition the field
+     * @param fieldsContainer the container of that field
+     *
+     * @return the rules that apply in the order they were added
+     */
     public List<ValidationRule> getRulesFor(GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
-        return rules.stream()
-                .filter(rule -> rule.appliesTo(fieldDefinition, fieldsContainer))
-                .collect(Collectors.toList());
+        Set<String> directiveNames = new HashSet<>();
+        for (GraphQLAppliedDirective directive : fieldDefinition.getAppliedDirectives()) {
+            directiveNames.add(directive.getName());
+        }
+        BitSet candidates = candidateRules(directiveNames);
+        List<ValidationRule> appliesTo = new ArrayList<>();
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            ValidationRule rule = rules.get(i);
+            if (rule.appliesTo(fieldDefinition, fieldsContainer)) {
+                appliesTo.add(rule);
+            }
+        }
+        return appliesTo;
+    }
+
+    private BitSet candidateRules(Set<String> directiveNames) {
+        BitSet candidates = (BitSet) otherRuleIndexes.clone();
+        for (String directiveName : directiveNames) {
+            int[] indexes = directiveRuleIndexes.get(directiveName);
+            if (indexes != null) {
+                for (int index : indexes) {
+                    candidates.set(index);
+                }
+            }
+        }
+        return candidates;
     }
 
 
     /**
      * This helper method will run the validation rules that apply to the provided {@link graphql.schema.DataFetchingEnvironment}
+     * <p>
+     * If there is a {@link Builder#maxErrorsPerRequest(int)} limit then the errors are taken from the {@link ValidationErrorBudget}
+     * of the request in the same way as the validating data fetchers of {@link graphql.validation.schemawiring.ValidationSchemaWiring}
+     * take them.  Once the budget is used up an invalid field gets no errors back, which looks the same as a valid field.
+     * A caller that must not fetch such a field can use {@link #runValidationRules(DataFetchingEnvironment, int)} to
+     * decide and this method to report.
      *
      * @param env the data fetching environment
      *
@@ -102,8 +278,89 @@ public class ValidationRules {
 
         MessageInterpolator messageInterpolator = this.getMessageInterpolator();
 
-        TargetedValidationRules rules = this.buildRulesFor(fieldDefinition, fieldsContainer);
-        return rules.runValidationRules(env, messageInterpolator, this.getLocale());
+        FieldValidationPlan plan = getValidationPlan(env.getGraphQLSchema(), fieldDefinition, fieldsContainer);
+        ValidationErrorBudget errorBudget = getErrorBudget(env);
+        if (errorBudget == null) {
+            return plan.runValidation(env, messageInterpolator, this.getLocale(), validationOptions);
+        }
+        //
+        // once the budget is used up a field is only validated as far as it takes to find whether it is invalid
+        int maxErrors = Math.max(1, Math.min(this.getMaxErrorsPerField(), errorBudget.getRemaining()));
+        List<GraphQLError> errors = plan.runValidation(env, messageInterpolator, this.getLocale(), validationOptions.withMaxErrors(maxErrors));
+        return errorBudget.spend(errors);
+    }
+
+    /**
+     * This helper method will run the validation rules that apply to the provided {@link graphql.schema.DataFetchingEnvironment}
+     * but stop once the specified number of errors have been found.  Unlike {@link #runValidationRules(DataFetchingEnvironment)}
+     * it does not spend the error budget of the request.
+     *
+     * @param env       the data fetching environment
+     * @param maxErrors the most errors to find before stopping
+     *
+     * @return a list of zero or more input data validation errors
+     */
+    public List<GraphQLError> runValidationRules(DataFetchingEnvironment env, int maxErrors) {
+        return runValidationPlan(env, validationOptions.withMaxErrors(Math.min(maxErrorsPerField, maxErrors)));
+    }
+
+    /**
+     * This is like {@link #runValidationRules(DataFetchingEnvironment, int)} except that the {@link AsyncValidationRule}s and
+     * {@link BlockingValidationRule}s are left out.  Those are the rules that may look at data outside of the validated
+     * values, so what this finds depends on the argument values alone and can be remembered for them.
+     *
+     * @param env       the data fetching environment
+     * @param maxErrors the most errors to find before stopping
+     *
+     * @return a list of zero or more input data validation errors
+     */
+    public List<GraphQLError> runSynchronousValidationRules(DataFetchingEnvironment env, int maxErrors) {
+        return runValidationPlan(env, validationOptions.withMaxErrors(Math.min(maxErrorsPerField, maxErrors)).synchronousRulesOnly());
+    }
+
+    private List<GraphQLError> runValidationPlan(DataFetchingEnvironment env, ValidationOptions options) {
+        GraphQLFieldsContainer fieldsContainer = env.getExecutionStepInfo().getObjectType();
+        GraphQLFieldDefinition fieldDefinition = env.getFieldDefinition();
+
+        FieldValidationPlan plan = getValidationPlan(env.getGraphQLSchema(), fieldDefinition, fieldsContainer);
+        if (plan.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return plan.runValidation(env, this.getMessageInterpolator(), this.getLocale(), options);
+    }
+
+    private FieldValidationPlan getValidationPlan(GraphQLSchema schema, GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+        if (schema == null) {
+            return buildRulesFor(fieldDefinition, fieldsContainer).buildPlanFor(fieldDefinition, fieldsContainer);
+        }
+        ConcurrentMap<ValidationCoordinates, FieldValidationPlan> plans = plansFor(schema);
+        ValidationCoordinates fieldCoordinates = ValidationCoordinates.newCoordinates(fieldsContainer, fieldDefinition);
+        FieldValidationPlan plan = plans.get(fieldCoordinates);
+        if (plan == null) {
+            plan = plans.computeIfAbsent(fieldCoordinates, coordinates -> buildRulesFor(fieldDefinition, fieldsContainer).buildPlanFor(fieldDefinition, fieldsContainer));
+        }
+        return plan;
+    }
+
+    private ConcurrentMap<ValidationCoordinates, FieldValidationPlan> plansFor(GraphQLSchema schema) {
+        // most of the time there is the one schema in play, so we can skip the lock on the weak map
+        SchemaPlans last = lastSchemaPlans;
+        if (last != null && last.schema.get() == schema) {
+            return last.plans;
+        }
+        ConcurrentMap<ValidationCoordinates, FieldValidationPlan> plans = planCache.computeIfAbsent(schema, key -> new ConcurrentHashMap<>());
+        lastSchemaPlans = new SchemaPlans(schema, plans);
+        return plans;
+    }
+
+    private static class SchemaPlans {
+        private final WeakReference<GraphQLSchema> schema;
+        private final ConcurrentMap<ValidationCoordinates, FieldValidationPlan> plans;
+
+        SchemaPlans(GraphQLSchema schema, ConcurrentMap<ValidationCoordinates, FieldValidationPlan> plans) {
+            this.schema = new WeakReference<>(schema);
+            this.plans = plans;
+        }
     }
 
     /**
@@ -124,6 +381,15 @@ public class ValidationRules {
         private OnValidationErrorStrategy onValidationErrorStrategy = OnValidationErrorStrategy.RETURN_NULL;
         private MessageInterpolator messageInterpolator = new ResourceBundleMessageInterpolator();
         private List<ValidationRule> rules = new ArrayList<>();
+        private int maxErrorsPerField = Integer.MAX_VALUE;
+        private int maxErrorsPerRequest = Integer.MAX_VALUE;
+        private int parallelListThreshold = Integer.MAX_VALUE;
+        private Executor listExecutor;
+        private Executor blockingRuleExecutor = VirtualThreads.perTaskExecutor();
+        private int validationResultCacheSize;
+        private boolean validateEachVariableOnce;
+        private boolean validateEachArgumentSetOnce;
+        private boolean cacheSubscriptionValidation;
 
 
         public Builder() {
@@ -174,6 +440,172 @@ public class ValidationRules {
             return this;
         }
 
+        /**
+         * This makes the validation of a field stop once it has found this many errors.  When the first error is enough to
+         * reject a field, as it is with {@link OnValidationErrorStrategy#RETURN_NULL}, then setting this to 1 means that bad input
+         * costs one failed check rather than one for every bad value in it.
+         * <p>
+         * By default all errors are found.
+         *
+         * @param maxErrorsPerField the most errors to find per field, which must be greater than zero
+         *
+         * @return this builder
+         */
+        public Builder maxErrorsPerField(int maxErrorsPerField) {
+            Assert.assertTrue(maxErrorsPerField > 0, () -> "maxErrorsPerField must be greater than zero");
+            this.maxErrorsPerField = maxErrorsPerField;
+            return this;
+        }
+
+        /**
+         * This limits the number of validation errors that all the fields of one request will produce together.  The count is
+         * kept in a {@link ValidationErrorBudget} in the {@link graphql.GraphQLContext} of the request.  Once it is used up the
+         * remaining fields are only validated as far as their first error, to tell whether they are invalid, and an invalid
+         * field is rejected without reporting any further errors.  This bounds the size of the response to queries that
+         * repeat a bad field under many aliases.  Valid fields are still fetched.
+         * <p>
+         * By default there is no limit.
+         *
+         * @param maxErrorsPerRequest the most errors to report per request, which must be greater than zero
+         *
+         * @return this builder
+         */
+        public Builder maxErrorsPerRequest(int maxErrorsPerRequest) {
+            Assert.assertTrue(maxErrorsPerRequest > 0, () -> "maxErrorsPerRequest must be greater than zero");
+            this.maxErrorsPerRequest = maxErrorsPerRequest;
+            return this;
+        }
+
+        /**
+         * This makes the elements of lists with at least the specified number of elements be validated in parallel on the
+         * {@link ForkJoinPool#commonPool()}.  The errors are still reported in list order.
+         * <p>
+         * The rules in play must be safe to run on several threads at once, which the standard directive constraints are.
+         *
+         * @param minListSize the smallest list whose elements are validated in parallel
+         *
+         * @return this builder
+         */
+        public Builder parallelListValidation(int minListSize) {
+            return parallelListValidation(minListSize, ForkJoinPool.commonPool());
+        }
+
+        /**
+         * This makes the elements of lists with at least the specified number of elements be validated in parallel on the
+         * specified executor.  The errors are still reported in list order.
+         * <p>
+         * The rules in play must be safe to run on several threads at once, which the standard directive constraints are.
+         *
+         * @param minListSize the smallest list whose elements are validated in parallel
+         * @param executor    the executor to validate the elements on
+         *
+         * @return this builder
+         */
+        public Builder parallelListValidation(int minListSize, Executor executor) {
+            Assert.assertTrue(minListSize > 0, () -> "minListSize must be greater than zero");
+            this.parallelListThreshold = minListSize;
+            this.listExecutor = assertNotNull(executor);
+            return this;
+        }
+
+        /**
+         * This sets the executor that {@link BlockingValidationRule}s are run on when a field is validated by the validating
+         * data fetchers, so that they do not block the graphql execution threads.
+         * <p>
+         * By default a new virtual thread is started for each blocking rule on runtimes that have virtual threads, and the
+         * blocking rules are run in place on those that do not.
+         *
+         * @param blockingRuleExecutor the executor to run blocking rules on or null to run them in place
+         *
+         * @return this builder
+         */
+        public Builder blockingRuleExecutor(Executor blockingRuleExecutor) {
+            this.blockingRuleExecutor = blockingRuleExecutor;
+            return this;
+        }
+
+        /**
+         * This makes the validating data fetchers cache the outcome of validating fields whose arguments are all literals in
+         * the query document, so that a query document that is parsed once and executed many times, such as a persisted
+         * query, only has those fields validated once.  The outcome is cached per document, field path and field coordinates.
+         * <p>
+         * Only fields without {@link AsyncValidationRule}s or {@link BlockingValidationRule}s are cached, since those rules
+         * may look at data that changes.  The other rules in play must give the same outcome for the same argument values.
+         * <p>
+         * By default outcomes are not cached.
+         *
+         * @param maxEntries the most outcomes to keep, after which the least recently used are dropped
+         *
+         * @return this builder
+         */
+        public Builder validationResultCache(int maxEntries) {
+            Assert.assertTrue(maxEntries > 0, () -> "maxEntries must be greater than zero");
+            this.validationResultCacheSize = maxEntries;
+            return this;
+        }
+
+        /**
+         * This makes an argument whose value is an operation variable, such as {@code createOrder(input : $input)}, only be
+         * validated once per request for each argument type and set of rules it is used with.  Later uses of a variable that
+         * was found to be valid skip its validation, which helps most when the field is executed once per element of a list.
+         * An invalid variable is still validated at each use so that its errors name each argument they belong to.
+         * <p>
+         * Only arguments whose rules are all directive constraints that depend on the validated value alone, as told by
+         * {@link graphql.validation.constraints.DirectiveConstraint#dependsOnValueAlone()}, are validated once.  That is
+         * true of the standard constraints apart from {@code @Expression}, which can look at the field and its other
+         * arguments, and {@code @Exists}.  Arguments with any other rule, such as a custom {@link ValidationRule}, an
+         * {@link AsyncValidationRule} or a {@link BlockingValidationRule}, are validated at each use.
+         * <p>
+         * By default each use of a variable is validated.
+         *
+         * @param validateEachVariableOnce true to validate each variable once per request
+         *
+         * @return this builder
+         */
+        public Builder validateEachVariableOnce(boolean validateEachVariableOnce) {
+            this.validateEachVariableOnce = validateEachVariableOnce;
+            return this;
+        }
+
+        /**
+         * This makes the validating data fetchers validate a field only once per request for each set of argument values
+         * it is executed with.  A field under a list, such as {@code items { price(currency : "EUR") } }, is then validated
+         * once rather than once per element of the list.  A field with invalid arguments is still validated each time it is
+         * executed so that its errors name the path it was executed at.
+         * <p>
+         * The rules in play must only look at the field and its argument values, which the standard directive constraints do.
+         * Fields with {@link AsyncValidationRule}s or {@link BlockingValidationRule}s are always validated.
+         * <p>
+         * By default each execution of a field is validated.
+         *
+         * @param validateEachArgumentSetOnce true to validate each field once per request and set of argument values
+         *
+         * @return this builder
+         */
+        public Builder validateEachArgumentSetOnce(boolean validateEachArgumentSetOnce) {
+            this.validateEachArgumentSetOnce = validateEachArgumentSetOnce;
+            return this;
+        }
+
+        /**
+         * This makes the validating data fetchers validate the fields of a subscription once, for its first event, and reuse
+         * the outcome for the events after that.  The fields of each event are executed with the same arguments, so valid
+         * outcomes are reused for the same field anywhere in an event and errors are reused at the same path.
+         * <p>
+         * The rules in play must only look at the field and its argument values, which the standard directive constraints do.
+         * Fields with {@link AsyncValidationRule}s or {@link BlockingValidationRule}s are always validated.
+         * <p>
+         * By default the fields of each event are validated.
+         *
+         * @param cacheSubscriptionValidation true to validate the fields of a subscription once
+         *
+         * @return this builder
+         */
+        public Builder cacheSubscriptionValidation(boolean cacheSubscriptionValidation) {
+            this.cacheSubscriptionValidation = cacheSubscriptionValidation;
+            return this;
+        }
+
         public ValidationRules build() {
             return new ValidationRules(this);
         }
@@ -0,0 +1,89 @@
+package graphql.validation.rules;
+
+import graphql.GraphQLContext;
+import graphql.Internal;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The operation variables that have already been found to be valid where they are used as a whole argument value.  It
+ * lives in the {@link graphql.GraphQLContext} of the request, so a variable that is used by many fields, or by a field
+ * that is executed once per element of a list, is only validated once per request.
+ * <p>
+ * Only valid outcomes are remembered.  Errors name the path of the argument they were found at, and so an invalid
+ * variable is validated again at each use to report its errors there.
+ *
+ * @see ValidationRules.Builder#validateEachVariableOnce(boolean)
+ */
+@Internal
+public class VariableValidationMemo {
+
+    private final Set<Key> validVariables = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Gets the memo of the request, creating it if this is the first time it is asked for
+     *
+     * @param graphQLContext the context of the request
+     *
+     * @return the memo of the request
+     */
+    public static VariableValidationMemo getOrCreate(GraphQLContext graphQLContext) {
+        return graphQLContext.computeIfAbsent(VariableValidationMemo.class, key -> new VariableValidationMemo());
+    }
+
+    /**
+     * @param variableName   the name of the variable
+     * @param variableValue  the coerced value of the variable
+     * @param argumentTarget what the variable was validated as, which must have a meaningful equals
+     *
+     * @return true if the value has already been found to be valid for the target
+     */
+    public boolean isValid(String variableName, Object variableValue, Object argumentTarget) {
+        return validVariables.contains(new Key(variableName, variableValue, argumentTarget));
+    }
+
+    /**
+     * Records that the value of a variable is valid for a target
+     *
+     * @param variableName   the name of the variable
+     * @param variableValue  the coerced value of the variable
+     * @param argumentTarget what the variable was validated as, which must have a meaningful equals
+     */
+    public void markValid(String variableName, Object variableValue, Object argumentTarget) {
+        validVariables.add(new Key(variableName, variableValue, argumentTarget));
+    }
+
+    private static class Key {
+        private final String variableName;
+        private final Object variableValue;
+        private final Object argumentTarget;
+
+        Key(String variableName, Object variableValue, Object argumentTarget) {
+            this.variableName = variableName;
+            this.variableValue = variableValue;
+            this.argumentTarget = argumentTarget;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key that = (Key) o;
+            // the value is compared by identity since the fields that use a variable are all given its one coerced value
+            return variableValue == that.variableValue &&
+                    variableName.equals(that.variableName) &&
+                    argumentTarget.equals(that.argumentTarget);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(variableName, System.identityHashCode(variableValue), argumentTarget);
+        }
+    }
+}
@@ -5,24 +5,52 @@ import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLFieldsContainer;
-import graphql.schema.GraphQLType;
 import graphql.validation.interpolation.MessageInterpolator;
+import graphql.validation.locale.LocaleUtil;
+import graphql.validation.rules.FieldValidationMemo;
+import graphql.validation.rules.FieldValidationPlan;
 import graphql.validation.rules.OnValidationErrorStrategy;
-import graphql.validation.rules.TargetedValidationRules;
+import graphql.validation.rules.SubscriptionValidationCache;
+import graphql.validation.rules.ValidationCoordinates;
+import graphql.validation.rules.ValidationErrorBudget;
+import graphql.validation.rules.ValidationOptions;
+import graphql.validation.rules.ValidationResultCache;
 import graphql.validation.rules.ValidationRules;
 import graphql.validation.util.Util;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static graphql.Assert.assertNotNull;
 
 public class FieldValidatorDataFetcher implements DataFetcher<Object> {
     private final OnValidationErrorStrategy errorStrategy;
     private final MessageInterpolator messageInterpolator;
     private final DataFetcher<?> defaultDataFetcher;
     private final Locale defaultLocale;
+    //
+    // the plan is handed over at wiring time, and is only compiled here for the deprecated constructor
+    private volatile FieldValidationPlan validationPlan;
+    private final ValidationRules planRules;
+    private final ValidationOptions validationOptions;
     private final ValidationRules validationRules;
-    private TargetedValidationRules applicableRules;
+    private final ValidationCoordinates fieldCoordinates;
 
+    /**
+     * @param errorStrategy       the strategy for fields with errors
+     * @param messageInterpolator the message interpolator to use
+     * @param defaultDataFetcher  the data fetcher to call for valid fields
+     * @param defaultLocale       the default locale in play
+     * @param validationRules     the rules to compile the plan of the field from on its first call
+     *
+     * @deprecated the plan is compiled on the first call rather than at wiring time, use
+     * {@link #FieldValidatorDataFetcher(ValidationRules, DataFetcher, FieldValidationPlan)} instead
+     */
+    @Deprecated
     public FieldValidatorDataFetcher(OnValidationErrorStrategy errorStrategy,
                                      MessageInterpolator messageInterpolator,
                                      DataFetcher<?> defaultDataFetcher,
@@ -32,23 +60,141 @@ public class FieldValidatorDataFetcher implements DataFetcher<Object> {
         this.messageInterpolator = messageInterpolator;
         this.defaultDataFetcher = defaultDataFetcher;
         this.defaultLocale = defaultLocale;
+        this.validationPlan = null;
+        this.planRules = assertNotNull(validationRules);
+        this.validationOptions = ValidationOptions.DEFAULT;
+        this.validationRules = null;
+        this.fieldCoordinates = null;
+    }
+
+    public FieldValidatorDataFetcher(OnValidationErrorStrategy errorStrategy,
+                                     MessageInterpolator messageInterpolator,
+                                     DataFetcher<?> defaultDataFetcher,
+                                     Locale defaultLocale,
+                                     FieldValidationPlan validationPlan) {
+        this.errorStrategy = errorStrategy;
+        this.messageInterpolator = messageInterpolator;
+        this.defaultDataFetcher = defaultDataFetcher;
+        this.defaultLocale = defaultLocale;
+        this.validationPlan = assertNotNull(validationPlan);
+        this.planRules = null;
+        this.validationOptions = ValidationOptions.DEFAULT;
+        this.validationRules = null;
+        this.fieldCoordinates = null;
+    }
+
+    public FieldValidatorDataFetcher(ValidationRules validationRules,
+                                     DataFetcher<?> defaultDataFetcher,
+                                     FieldValidationPlan validationPlan) {
+        this.errorStrategy = validationRules.getOnValidationErrorStrategy();
+        this.messageInterpolator = validationRules.getMessageInterpolator();
+        this.defaultDataFetcher = defaultDataFetcher;
+        this.defaultLocale = validationRules.getLocale();
+        this.validationPlan = assertNotNull(validationPlan);
+        this.planRules = null;
+        this.validationOptions = validationRules.getValidationOptions();
         this.validationRules = validationRules;
-        this.applicableRules = null;
+        this.fieldCoordinates = ValidationCoordinates.newCoordinates(validationPlan.getFieldsContainer(), validationPlan.getFieldDefinition());
     }
 
     @Override
     public Object get(DataFetchingEnvironment environment) throws Exception {
-        if (!wereApplicableRulesFetched()) {
-            fetchApplicableRules(environment);
+        FieldValidationPlan validationPlan = this.validationPlan;
+        if (validationPlan == null) {
+            validationPlan = compilePlan(environment);
         }
-
         // When no validation is performed, this data fetcher is a pass-through
-        if (applicableRules.isEmpty()) {
+        if (validationPlan.isEmpty()) {
             return defaultDataFetcher.get(environment);
         }
 
-        List<GraphQLError> errors = applicableRules.runValidationRules(environment, messageInterpolator, defaultLocale);
+        ValidationErrorBudget errorBudget = validationRules == null ? null : validationRules.getErrorBudget(environment);
+        ValidationOptions options = validationOptions;
+        if (errorBudget != null) {
+            // once the request has used up its budget a field is only validated as far as it takes to find whether it is
+            // invalid, and it is then rejected without reporting any further errors
+            options = options.withMaxErrors(Math.max(1, Math.min(options.getMaxErrors(), errorBudget.getRemaining())));
+        }
+        if (validationPlan.hasAsyncRules()) {
+            // the async rules are composed with the original data fetcher rather than waited on
+            return validationPlan.runValidationAsync(environment, messageInterpolator, defaultLocale, options)
+                    .thenCompose(errors -> fetchIfValidAsync(environment, errors, errorBudget));
+        }
+        List<GraphQLError> errors = runValidation(environment, options);
+        return fetchIfValid(environment, errors, errorBudget);
+    }
+
+    /*
+     * The original data fetcher is only called once the async rules have found the field valid, so that it never sees
+     * arguments that are about to be rejected.  Any data loader calls it makes are left to graphql-java to dispatch.
+     */
+    private CompletionStage<Object> fetchIfValidAsync(DataFetchingEnvironment environment, List<GraphQLError> errors, ValidationErrorBudget errorBudget) {
+        try {
+            return asCompletionStage(fetchIfValid(environment, errors, errorBudget));
+        } catch (Exception e) {
+            return failed(e);
+        }
+    }
+
+    /*
+     * Compiling the same plan twice on racing threads is harmless, as both come up with the same plan
+     */
+    private FieldValidationPlan compilePlan(DataFetchingEnvironment environment) {
+        GraphQLFieldDefinition fieldDefinition = environment.getFieldDefinition();
+        GraphQLFieldsContainer fieldsContainer = (GraphQLFieldsContainer) environment.getParentType();
+        FieldValidationPlan validationPlan = planRules.buildRulesFor(fieldDefinition, fieldsContainer).buildPlanFor(fieldDefinition, fieldsContainer);
+        this.validationPlan = validationPlan;
+        return validationPlan;
+    }
+
+    private List<GraphQLError> runValidation(DataFetchingEnvironment environment, ValidationOptions options) {
+        SubscriptionValidationCache subscriptionCache = validationRules == null ? null : validationRules.getSubscriptionValidationCache(environment);
+        if (subscriptionCache == null) {
+            return runCachedValidation(environment, options);
+        }
+        return subscriptionCache.computeIfAbsent(environment, fieldCoordinates, LocaleUtil.determineLocale(environment, defaultLocale),
+                () -> runCachedValidation(environment, options), errors -> isWholeOutcome(errors, options));
+    }
+
+    private List<GraphQLError> runCachedValidation(DataFetchingEnvironment environment, ValidationOptions options) {
+        ValidationResultCache resultCache = validationRules == null ? null : validationRules.getValidationResultCache();
+        if (resultCache == null || !ValidationResultCache.isCacheable(environment)) {
+            return runValidationOncePerArgumentSet(environment, options);
+        }
+        return resultCache.computeIfAbsent(environment, fieldCoordinates, LocaleUtil.determineLocale(environment, defaultLocale),
+                () -> runValidationOncePerArgumentSet(environment, options), errors -> isWholeOutcome(errors, options));
+    }
+
+    /*
+     * An outcome found with a lower error limit, because of the request error budget, may have been cut short.  It is
+     * only the whole outcome if it has fewer errors than that limit.  A cached whole outcome is reused whatever the limit,
+     * as the budget takes no more than its share of the errors.
+     */
+    private boolean isWholeOutcome(List<GraphQLError> errors, ValidationOptions options) {
+        return options == validationOptions || errors.size() < options.getMaxErrors();
+    }
+
+    private List<GraphQLError> runValidationOncePerArgumentSet(DataFetchingEnvironment environment, ValidationOptions options) {
+        FieldValidationMemo validationMemo = validationRules == null ? null : validationRules.getFieldValidationMemo(environment);
+        if (validationMemo == null) {
+            return validationPlan.runValidation(environment, messageInterpolator, defaultLocale, options);
+        }
+        Map<String, Object> arguments = environment.getArguments();
+        if (validationMemo.isValid(fieldCoordinates, arguments)) {
+            return Collections.emptyList();
+        }
+        List<GraphQLError> errors = validationPlan.runValidation(environment, messageInterpolator, defaultLocale, options);
+        if (errors.isEmpty()) {
+            validationMemo.markValid(fieldCoordinates, arguments);
+        }
+        return errors;
+    }
+
+    private Object fetchIfValid(DataFetchingEnvironment environment, List<GraphQLError> errors, ValidationErrorBudget errorBudget) throws Exception {
         if (!errors.isEmpty()) {
+            if (errorBudget != null) {
+                errors = errorBudget.spend(errors);
+            }
             if (!errorStrategy.shouldContinue(errors, environment)) {
                 return errorStrategy.onErrorValue(errors, environment);
             }
@@ -61,22 +207,17 @@ public class FieldValidatorDataFetcher implements DataFetcher<Object> {
         return Util.mkDFRFromFetchedResult(errors, returnValue);
     }
 
-    private void fetchApplicableRules(DataFetchingEnvironment environment) {
-        final GraphQLFieldDefinition field = environment.getFieldDefinition();
-        final GraphQLFieldsContainer container = asContainer(environment);
-
-        applicableRules = validationRules.buildRulesFor(field, container);
+    private static CompletionStage<Object> failed(Exception e) {
+        CompletableFuture<Object> failed = new CompletableFuture<>();
+        failed.completeExceptionally(e);
+        return failed;
     }
 
-    private GraphQLFieldsContainer asContainer(DataFetchingEnvironment environment) {
-        final GraphQLType parent = environment.getParentType();
-        if (parent == null) {
-            return null;
+    @SuppressWarnings("unchecked")
+    private static CompletionStage<Object> asCompletionStage(Object value) {
+        if (value instanceof CompletionStage) {
+            return (CompletionStage<Object>) value;
         }
-        return (GraphQLFieldsContainer) environment.getParentType();
-    }
-
-    private boolean wereApplicableRulesFetched() {
-        return applicableRules != null;
+        return CompletableFuture.completedFuture(value);
     }
 }
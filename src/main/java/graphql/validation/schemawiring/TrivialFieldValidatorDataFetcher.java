@@ -3,13 +3,33 @@ package graphql.validation.schemawiring;
 import graphql.TrivialDataFetcher;
 import graphql.schema.DataFetcher;
 import graphql.validation.interpolation.MessageInterpolator;
+import graphql.validation.rules.FieldValidationPlan;
 import graphql.validation.rules.OnValidationErrorStrategy;
 import graphql.validation.rules.ValidationRules;
 
 import java.util.Locale;
 
 public class TrivialFieldValidatorDataFetcher extends FieldValidatorDataFetcher implements TrivialDataFetcher<Object> {
+    /**
+     * @param errorStrategy       the strategy for fields with errors
+     * @param messageInterpolator the message interpolator to use
+     * @param defaultDataFetcher  the data fetcher to call for valid fields
+     * @param defaultLocale       the default locale in play
+     * @param validationRules     the rules to compile the plan of the field from on its first call
+     *
+     * @deprecated the plan is compiled on the first call rather than at wiring time, use
+     * {@link #TrivialFieldValidatorDataFetcher(ValidationRules, DataFetcher, FieldValidationPlan)} instead
+     */
+    @Deprecated
     public TrivialFieldValidatorDataFetcher(OnValidationErrorStrategy errorStrategy, MessageInterpolator messageInterpolator, DataFetcher<?> defaultDataFetcher, Locale defaultLocale, ValidationRules validationRules) {
         super(errorStrategy, messageInterpolator, defaultDataFetcher, defaultLocale, validationRules);
     }
+
+    public TrivialFieldValidatorDataFetcher(OnValidationErrorStrategy errorStrategy, MessageInterpolator messageInterpolator, DataFetcher<?> defaultDataFetcher, Locale defaultLocale, FieldValidationPlan validationPlan) {
+        super(errorStrategy, messageInterpolator, defaultDataFetcher, defaultLocale, validationPlan);
+    }
+
+    public TrivialFieldValidatorDataFetcher(ValidationRules validationRules, DataFetcher<?> defaultDataFetcher, FieldValidationPlan validationPlan) {
+        super(validationRules, defaultDataFetcher, validationPlan);
+    }
 }
@@ -8,13 +8,10 @@ import graphql.schema.GraphQLFieldsContainer;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.idl.SchemaDirectiveWiring;
 import graphql.schema.idl.SchemaDirectiveWiringEnvironment;
-import graphql.validation.interpolation.MessageInterpolator;
-import graphql.validation.rules.OnValidationErrorStrategy;
+import graphql.validation.rules.FieldValidationPlan;
 import graphql.validation.rules.TargetedValidationRules;
 import graphql.validation.rules.ValidationRules;
 
-import java.util.Locale;
-
 /**
  * A {@link SchemaDirectiveWiring} that can be used to inject validation rules into the data fetchers
  * when the graphql schema is being built.  It will use the validation rules and ask each one of they apply to the field and or its
@@ -45,39 +42,24 @@ public class ValidationSchemaWiring implements SchemaDirectiveWiring {
             return fieldDefinition;
         }
         GraphQLObjectType graphQLObjectType = (GraphQLObjectType) fieldsContainer;
-        OnValidationErrorStrategy errorStrategy = ruleCandidates.getOnValidationErrorStrategy();
-        MessageInterpolator messageInterpolator = ruleCandidates.getMessageInterpolator();
-        Locale locale = ruleCandidates.getLocale();
 
         final DataFetcher<?> currentDF = env.getCodeRegistry().getDataFetcher(graphQLObjectType, fieldDefinition);
-        final DataFetcher<?> newDF = buildValidatingDataFetcher(errorStrategy, messageInterpolator, currentDF, locale);
+        //
+        // the plan is compiled here, once, so that the data fetcher has nothing to work out on its first call
+        FieldValidationPlan validationPlan = rules.buildPlanFor(fieldDefinition, fieldsContainer);
+        final DataFetcher<?> newDF = buildValidatingDataFetcher(currentDF, validationPlan);
 
         env.getCodeRegistry().dataFetcher(graphQLObjectType, fieldDefinition, newDF);
 
         return fieldDefinition;
     }
 
-    private DataFetcher<Object> buildValidatingDataFetcher(OnValidationErrorStrategy errorStrategy,
-                                                           MessageInterpolator messageInterpolator,
-                                                           DataFetcher<?> currentDF,
-                                                           final Locale defaultLocale) {
+    private DataFetcher<Object> buildValidatingDataFetcher(DataFetcher<?> currentDF, FieldValidationPlan validationPlan) {
         if (currentDF instanceof TrivialDataFetcher) {
-           return new TrivialFieldValidatorDataFetcher(
-                   errorStrategy,
-                   messageInterpolator,
-                   currentDF,
-                   defaultLocale,
-                   ruleCandidates
-           );
+           return new TrivialFieldValidatorDataFetcher(ruleCandidates, currentDF, validationPlan);
         }
-        
-        return new FieldValidatorDataFetcher(
-                errorStrategy,
-                messageInterpolator,
-                currentDF,
-                defaultLocale,
-                ruleCandidates
-        );
+
+        return new FieldValidatorDataFetcher(ruleCandidates, currentDF, validationPlan);
     }
 
 }
@@ -0,0 +1,146 @@
+package graphql.validation.util;
+
+import graphql.Internal;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirectiveContainer;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLTypeUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * This records, for every input object type, the names of the directives that can be found anywhere in the graph of
+ * input types reachable from it.  Each input object type is only walked once, no matter how many fields and arguments
+ * use it, and a constraint can then tell whether its directive can be reached from an argument with a set lookup.
+ * <p>
+ * Names alone are enough because the index is only used to rule elements out.  Every directive position reachable from a
+ * type is included, list element types among them, so a directive that is missing from the set cannot be found anywhere
+ * below and the walk can be skipped.  A name that is in the set only says the directive is somewhere below.  Which
+ * elements carry it, and with what arguments, is worked out by walking the elements themselves, as
+ * {@code AbstractDirectiveConstraint} does to check the placements and the validation plan does to find the values to
+ * validate.  Recording the elements here as well would repeat that walk without saving any of it.
+ * <p>
+ * The index is keyed weakly by the input object types so that it lets go of them when their schema goes away.
+ */
+@Internal
+public class DirectiveNamesIndex {
+
+    private static final Map<GraphQLInputObjectType, Set<String>> REACHABLE_NAMES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @param argument the argument to look at
+     *
+     * @return the names of the directives on the argument and anywhere in the input types reachable from it
+     */
+    public static Set<String> reachableDirectiveNames(GraphQLArgument argument) {
+        Set<String> names = new HashSet<>();
+        List<GraphQLInputObjectType> inputObjectTypes = new ArrayList<>();
+        addPositionNames(argument.getType(), argument.getAppliedDirectives(), names, inputObjectTypes);
+        for (GraphQLInputObjectType inputObjectType : inputObjectTypes) {
+            names.addAll(reachableDirectiveNames(inputObjectType));
+        }
+        return names;
+    }
+
+    /**
+     * @param inputObjectType the input object type to look at
+     *
+     * @return the names of the directives on the fields of the type and anywhere in the input types reachable from it
+     */
+    public static Set<String> reachableDirectiveNames(GraphQLInputObjectType inputObjectType) {
+        Set<String> names = REACHABLE_NAMES.get(inputObjectType);
+        if (names == null) {
+            Map<GraphQLInputObjectType, Set<String>> computed = compute(inputObjectType);
+            REACHABLE_NAMES.putAll(computed);
+            names = computed.get(inputObjectType);
+        }
+        return names;
+    }
+
+    /*
+     * Works out the names for every input object type reachable from the one given that is not already
+     * known.  Recursive types make this a graph, so the names are propagated until nothing changes.
+     */
+    private static Map<GraphQLInputObjectType, Set<String>> compute(GraphQLInputObjectType start) {
+        Map<GraphQLInputObjectType, Set<String>> names = new IdentityHashMap<>();
+        Map<GraphQLInputObjectType, List<GraphQLInputObjectType>> successors = new IdentityHashMap<>();
+
+        Deque<GraphQLInputObjectType> toVisit = new ArrayDeque<>();
+        toVisit.add(start);
+        while (!toVisit.isEmpty()) {
+            GraphQLInputObjectType inputObjectType = toVisit.removeFirst();
+            if (names.containsKey(inputObjectType)) {
+                continue;
+            }
+            Set<String> typeNames = new HashSet<>();
+            List<GraphQLInputObjectType> typeSuccessors = new ArrayList<>();
+            for (GraphQLInputObjectField inputField : inputObjectType.getFieldDefinitions()) {
+                addPositionNames(inputField.getType(), inputField.getAppliedDirectives(), typeNames, typeSuccessors);
+            }
+            names.put(inputObjectType, typeNames);
+            successors.put(inputObjectType, typeSuccessors);
+
+            for (GraphQLInputObjectType successor : typeSuccessors) {
+                Set<String> known = REACHABLE_NAMES.get(successor);
+                if (known != null) {
+                    typeNames.addAll(known);
+                } else if (!names.containsKey(successor)) {
+                    toVisit.add(successor);
+                }
+            }
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Map.Entry<GraphQLInputObjectType, Set<String>> entry : names.entrySet()) {
+                for (GraphQLInputObjectType successor : successors.get(entry.getKey())) {
+                    Set<String> successorNames = names.get(successor);
+                    if (successorNames != null && entry.getValue().addAll(successorNames)) {
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        Map<GraphQLInputObjectType, Set<String>> computed = new IdentityHashMap<>();
+        for (Map.Entry<GraphQLInputObjectType, Set<String>> entry : names.entrySet()) {
+            computed.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
+        }
+        return computed;
+    }
+
+    /*
+     * Adds the names of the directives at an input value position, including those on the element types of lists,
+     * and notes the input object type found there if any
+     */
+    private static void addPositionNames(GraphQLInputType inputType, List<GraphQLAppliedDirective> directives, Set<String> names, List<GraphQLInputObjectType> inputObjectTypes) {
+        for (GraphQLAppliedDirective directive : directives) {
+            names.add(directive.getName());
+        }
+        GraphQLInputType unwrappedType = Util.unwrapNonNull(inputType);
+        if (GraphQLTypeUtil.isList(unwrappedType)) {
+            GraphQLInputType listItemType = Util.unwrapOneAndAllNonNull(unwrappedType);
+            List<GraphQLAppliedDirective> itemDirectives = Collections.emptyList();
+            if (listItemType instanceof GraphQLDirectiveContainer) {
+                itemDirectives = ((GraphQLDirectiveContainer) listItemType).getAppliedDirectives();
+            }
+            addPositionNames(listItemType, itemDirectives, names, inputObjectTypes);
+        }
+        if (unwrappedType instanceof GraphQLInputObjectType) {
+            inputObjectTypes.add((GraphQLInputObjectType) unwrappedType);
+        }
+    }
+}
@@ -5,12 +5,23 @@ import graphql.GraphQLError;
 import graphql.Internal;
 import graphql.execution.DataFetcherResult;
 import graphql.execution.ResultPath;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.Value;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLFieldsContainer;
 import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLType;
 import graphql.schema.GraphQLTypeUtil;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -79,6 +90,57 @@ public class Util {
     }
 
 
+    /**
+     * @param schema          the schema
+     * @param fieldsContainer an object or interface type
+     *
+     * @return the object types that a field of the container can be executed on
+     */
+    public static List<GraphQLObjectType> possibleObjectTypes(GraphQLSchema schema, GraphQLFieldsContainer fieldsContainer) {
+        if (fieldsContainer instanceof GraphQLObjectType) {
+            return Collections.singletonList((GraphQLObjectType) fieldsContainer);
+        }
+        if (fieldsContainer instanceof GraphQLInterfaceType) {
+            return schema.getImplementations((GraphQLInterfaceType) fieldsContainer);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @param arguments the arguments of a field in a query document
+     *
+     * @return true if any of the argument values refer to a variable, however deep in the value
+     */
+    public static boolean hasVariableReferences(List<Argument> arguments) {
+        for (Argument argument : arguments) {
+            if (hasVariableReferences(argument.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasVariableReferences(Value<?> value) {
+        if (value instanceof VariableReference) {
+            return true;
+        }
+        if (value instanceof ArrayValue) {
+            for (Value<?> element : ((ArrayValue) value).getValues()) {
+                if (hasVariableReferences(element)) {
+                    return true;
+                }
+            }
+        }
+        if (value instanceof ObjectValue) {
+            for (ObjectField objectField : ((ObjectValue) value).getObjectFields()) {
+                if (hasVariableReferences(objectField.getValue())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     public static ResultPath concatPaths(ResultPath parent, ResultPath child) {
         if (child == null) {
             return parent;
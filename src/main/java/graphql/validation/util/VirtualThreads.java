@@ -0,0 +1,33 @@
+package graphql.validation.util;
+
+import graphql.Internal;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * This library is built for Java 11, so virtual threads are reached by reflection on runtimes that have them.
+ */
+@Internal
+public class VirtualThreads {
+
+    private static final Executor PER_TASK_EXECUTOR = newPerTaskExecutor();
+
+    /**
+     * @return a shared executor that starts a new virtual thread for each task or null if the runtime does not have
+     * virtual threads
+     */
+    public static Executor perTaskExecutor() {
+        return PER_TASK_EXECUTOR;
+    }
+
+    private static Executor newPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) method.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package graphql.validation.constraints
 
-
+import graphql.AssertException
+import graphql.validation.TestUtil
+import graphql.validation.constraints.standard.RangeConstraint
 import graphql.validation.constraints.standard.SizeConstraint
 import spock.lang.Unroll
 
@@ -47,4 +49,52 @@ class AbstractDirectiveConstraintTest extends BaseConstraintTestSupport {
         "field( testArg : [Product!] ) : ID" | [[crazyItems: [[[[code: "morethan5"]]]]]]            | 1     | "graphql.validation.Size.message;path=/testArg[0]/crazyItems[0][0][0]/code;val:morethan5;\t"
     }
 
+    def "every placement of the directive that can be reached from an argument is checked"() {
+
+        def sdl = new SizeConstraint().getDocumentation().getDirectiveSDL() + '''
+            input Filter {
+                name : String @Size(max : 5)
+                age : Int @Size(max : 1)
+            }
+
+            type Query {
+                field(filter : Filter) : ID
+            }
+        '''
+        def schema = TestUtil.schema(sdl)
+        def fieldsContainer = schema.getObjectType("Query")
+        def fieldDefinition = fieldsContainer.getFieldDefinition("field")
+
+        when: "the suitable placement on name comes first but the misplaced one on age is still found"
+        new SizeConstraint().appliesTo(fieldDefinition.getArgument("filter"), fieldDefinition, fieldsContainer)
+
+        then:
+        def e = thrown(AssertException)
+        e.message.contains("The directive rule '@Size' cannot be placed on elements of type 'Int'")
+    }
+
+    def "a directive is compiled on the spot when it is run outside a validation plan"() {
+
+        def constraintUnderTest = new RangeConstraint()
+        def schema = buildSchema(constraintUnderTest.getDocumentation().getDirectiveSDL(), "field( arg : Int @Range(max : 10) ) : ID", "")
+
+        when:
+        def errors = constraintUnderTest.runConstraint(buildEnv("Range", schema, "arg", 100))
+
+        then:
+        assertErrors(errors, "Range;path=/arg;val:100;\t")
+    }
+
+    def "a directive cannot be compiled without its applied directive"() {
+
+        def constraintUnderTest = new RangeConstraint()
+        def schema = buildSchema(constraintUnderTest.getDocumentation().getDirectiveSDL(), "field( arg : Int @Range(max : 10) ) : ID", "")
+
+        when: "the environment is not a plan cursor and carries no applied directive"
+        constraintUnderTest.runConstraint(buildEnv("Size", schema, "arg", 100))
+
+        then:
+        def e = thrown(AssertException)
+        e.message.contains("The '@Range' constraint was run without a compiled directive")
+    }
 }
@@ -34,15 +34,27 @@ class BaseConstraintTestSupport extends Specification {
     }
 
     List<GraphQLError> runValidation(DirectiveConstraint ruleUnderTest, String fieldDeclaration, String extraSDL, String argName, Object argValue) {
+        def argsMap = [:]
+        argsMap[argName] = argValue
+        runArgumentsValidation(ruleUnderTest, fieldDeclaration, extraSDL, argsMap)
+    }
+
+    List<GraphQLError> runArgumentsValidation(DirectiveConstraint ruleUnderTest, String fieldDeclaration, Map<String, Object> argsMap) {
+        runArgumentsValidation(ruleUnderTest, fieldDeclaration, "", argsMap)
+    }
+
+    List<GraphQLError> runArgumentsValidation(DirectiveConstraint ruleUnderTest, String fieldDeclaration, String extraSDL, Map<String, Object> argsMap) {
         def schema = buildSchema(ruleUnderTest.getDocumentation().getDirectiveSDL(), fieldDeclaration, extraSDL)
 
         GraphQLFieldsContainer fieldsContainer = schema.getObjectType("Query") as GraphQLFieldsContainer
         GraphQLFieldDefinition fieldDefinition = fieldsContainer.getFieldDefinition("field")
-        GraphQLArgument argUnderTest = fieldDefinition.getArgument(argName)
-
-        ValidationCoordinates coordinates = ValidationCoordinates.newCoordinates(fieldsContainer, fieldDefinition, argUnderTest)
 
-        def validationRules = TargetedValidationRules.newValidationRules().addRule(coordinates, ruleUnderTest).build()
+        def rulesBuilder = TargetedValidationRules.newValidationRules()
+        for (String argName : argsMap.keySet()) {
+            GraphQLArgument argUnderTest = fieldDefinition.getArgument(argName)
+            rulesBuilder.addRule(ValidationCoordinates.newCoordinates(fieldsContainer, fieldDefinition, argUnderTest), ruleUnderTest)
+        }
+        def validationRules = rulesBuilder.build()
 
         def path = ResultPath.rootPath()
 
@@ -58,9 +70,6 @@ class BaseConstraintTestSupport extends Specification {
                 .type(fieldDefinition.getType())
                 .path(path).build()
 
-        def argsMap = [:]
-        argsMap[argName] = argValue
-
         def dfe = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
                 .fieldDefinition(fieldDefinition)
                 .executionStepInfo(stepInfo)
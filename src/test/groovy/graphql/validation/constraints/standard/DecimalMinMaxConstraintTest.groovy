@@ -52,6 +52,12 @@ class DecimalMinMaxConstraintTest extends BaseConstraintTestSupport {
         'field( arg : Int @DecimalMin(value : "50" inclusive:false) ) : ID'      | 50                   | 'DecimalMin;path=/arg;val:50;\t'
         'field( arg : Int @DecimalMin(value : "50" inclusive:false) ) : ID'      | 51                   | ''
 
+        // fractions either side of the bound
+        'field( arg : Int @DecimalMin(value : "50") ) : ID'                      | new BigDecimal("49.999") | 'DecimalMin;path=/arg;val:49.999;\t'
+        'field( arg : Int @DecimalMin(value : "50.5") ) : ID'                    | "50.5"                   | ''
+        'field( arg : Int @DecimalMin(value : "50" inclusive:false) ) : ID'      | new BigDecimal("50.001") | ''
+        'field( arg : Int @DecimalMin(value : "50" inclusive:false) ) : ID'      | new BigDecimal("50.000") | 'DecimalMin;path=/arg;val:50.000;\t'
+
         // nulls are valid
         'field( arg : Int @DecimalMin(value : "50" inclusive:false) ) : ID'      | null                 | ''
 
@@ -88,6 +94,12 @@ class DecimalMinMaxConstraintTest extends BaseConstraintTestSupport {
         'field( arg : Int @DecimalMax(value : "50" inclusive:false) ) : ID'      | 51         | 'DecimalMax;path=/arg;val:51;\t'
         'field( arg : Int @DecimalMax(value : "50" inclusive:false) ) : ID'      | 49         | ''
 
+        // fractions either side of the bound
+        'field( arg : Int @DecimalMax(value : "50") ) : ID'                      | new BigDecimal("50.001") | 'DecimalMax;path=/arg;val:50.001;\t'
+        'field( arg : Int @DecimalMax(value : "50.5") ) : ID'                    | "50.5"                   | ''
+        'field( arg : Int @DecimalMax(value : "50" inclusive:false) ) : ID'      | new BigDecimal("49.999") | ''
+        'field( arg : Int @DecimalMax(value : "50" inclusive:false) ) : ID'      | new BigDecimal("50.000") | 'DecimalMax;path=/arg;val:50.000;\t'
+
         // nulls are valid
         'field( arg : Int @DecimalMax(value : "50" inclusive:false) ) : ID'      | null       | ''
 
@@ -55,4 +55,22 @@ class DigitsConstraintTest extends BaseConstraintTestSupport {
         'field( arg : [String] @Digits( integer : 5, fraction : 2 ) ) : ID' | ["500.2", "343.2"]             | ''
         'field( arg : [String] @Digits( integer : 5, fraction : 2 ) ) : ID' | [null]                | ''
     }
-}
\ No newline at end of file
+
+    @Unroll
+    def "each digits placement is checked against its own compiled directive"() {
+
+        DirectiveConstraint ruleUnderTest = new DigitsConstraint()
+
+        expect:
+
+        def errors = runArgumentsValidation(ruleUnderTest, fieldDeclaration, args)
+        assertErrors(errors, expectedMessage)
+
+        where:
+
+        fieldDeclaration                                                                        | args                                         | expectedMessage
+        'field( a : String @Digits(integer : 3, fraction : 1), b : [String] @Digits(integer : 2) ) : ID' | [a: "123.4", b: ["12", "1.2345"]]            | ''
+        'field( a : String @Digits(integer : 3, fraction : 1), b : [String] @Digits(integer : 2) ) : ID' | [a: "123.45", b: ["12", "123", "1.2345"]]    | 'Digits;path=/a;val:123.45;\tDigits;path=/b[1];val:123;\t'
+        'field( a : String @Digits(integer : 3, fraction : 1), b : [String] @Digits(integer : 2) ) : ID' | [a: "12", b: ["99", "100", "x"]]             | 'Digits;path=/b[1];val:100;\tDigits;path=/b[2];val:x;\t'
+    }
+}
@@ -0,0 +1,164 @@
+package graphql.validation.constraints.standard
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.schema.idl.RuntimeWiring
+import graphql.validation.TestUtil
+import graphql.validation.constraints.DirectiveConstraints
+import graphql.validation.rules.ValidationRules
+import graphql.validation.schemawiring.ValidationSchemaWiring
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class ExistsConstraintTest extends Specification {
+
+    def existsConstraint = new ExistsConstraint()
+
+    def directiveRules = DirectiveConstraints.newDirectiveConstraints().addRule(existsConstraint).build()
+
+    def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            input CarFilter {
+                makerId : ID @Exists(loader : "makerById")
+            }
+
+            type Query {
+                car(id : ID @Exists(loader : "carById")) : String
+                cars(ids : [ID] @Exists(loader : "carById"), filter : CarFilter) : [String]
+            }
+        '''
+
+    def knownIds = ["1", "2", "m1"] as Set
+    def batches = []
+
+    def newDataLoaderRegistry() {
+        def batchLoader = { List<String> keys ->
+            batches.add(keys)
+            CompletableFuture.completedFuture(keys.collect { it in knownIds ? it : null })
+        } as BatchLoader<String, String>
+        new DataLoaderRegistry()
+                .register("carById", DataLoaderFactory.newDataLoader(batchLoader))
+                .register("makerById", DataLoaderFactory.newDataLoader(batchLoader))
+    }
+
+    def graphQL() {
+        ValidationRules validationRules = ValidationRules.newValidationRules()
+                .addRule(existsConstraint)
+                .build()
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("car", { env -> "car" + env.getArgument("id") })
+                        .dataFetcher("cars", { env -> env.getArgument("ids").collect { "car" + it } }))
+                .directiveWiring(new ValidationSchemaWiring(validationRules))
+                .build()
+        GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+    }
+
+    def "existence checks of sibling fields and list elements are batched together"() {
+        def executionInput = ExecutionInput.newExecutionInput('''
+            {
+                a : car(id : "1")
+                b : car(id : "9")
+                c : cars(ids : ["2", "8"], filter : { makerId : "m2" })
+            }
+        ''').dataLoaderRegistry(newDataLoaderRegistry()).build()
+
+        when:
+        def er = graphQL().execute(executionInput)
+
+        then:
+        er.data == [a: "car1", b: null, c: null]
+        er.errors.collect { it.message } as Set == ["/b/id does not exist", "/c/ids[1] does not exist", "/c/filter/makerId does not exist"] as Set
+        batches.size() == 2
+        batches as Set == [["1", "9", "2", "8"], ["m2"]] as Set
+    }
+
+    def "values that exist are valid"() {
+        def executionInput = ExecutionInput.newExecutionInput('''
+            {
+                cars(ids : ["1", "2"], filter : { makerId : "m1" })
+            }
+        ''').dataLoaderRegistry(newDataLoaderRegistry()).build()
+
+        when:
+        def er = graphQL().execute(executionInput)
+
+        then:
+        er.errors.isEmpty()
+        er.data == [cars: ["car1", "car2"]]
+    }
+
+    def "a guarded field whose own data fetcher uses a data loader is still batched, as is the level below it"() {
+
+        def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            type Maker {
+                name : String
+            }
+
+            type Car {
+                id : ID
+                maker : Maker
+            }
+
+            type Query {
+                car(id : ID @Exists(loader : "carById")) : Car
+            }
+        '''
+
+        def batchesByLoader = [:].withDefault { [] }
+        def carLoader = { List<String> keys ->
+            batchesByLoader["carById"].add(keys)
+            CompletableFuture.completedFuture(keys.collect { it in knownIds ? [id: it] : null })
+        } as BatchLoader<String, Map>
+        def makerLoader = { List<String> keys ->
+            batchesByLoader["makerByCarId"].add(keys)
+            CompletableFuture.completedFuture(keys.collect { [name: "maker" + it] })
+        } as BatchLoader<String, Map>
+        def dataLoaderRegistry = new DataLoaderRegistry()
+                .register("carById", DataLoaderFactory.newDataLoader(carLoader))
+                .register("makerByCarId", DataLoaderFactory.newDataLoader(makerLoader))
+
+        ValidationRules validationRules = ValidationRules.newValidationRules()
+                .addRule(existsConstraint)
+                .build()
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("car", { env -> env.getDataLoader("carById").load(env.getArgument("id")) }))
+                .type(newTypeWiring("Car")
+                        .dataFetcher("maker", { env -> env.getDataLoader("makerByCarId").load(env.getSource().id) }))
+                .directiveWiring(new ValidationSchemaWiring(validationRules))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+
+        def executionInput = ExecutionInput.newExecutionInput('''
+            {
+                a : car(id : "1") { id maker { name } }
+                b : car(id : "2") { id maker { name } }
+                c : car(id : "9") { id maker { name } }
+            }
+        ''').dataLoaderRegistry(dataLoaderRegistry).build()
+
+        when:
+        def er = graphQL.executeAsync(executionInput).get(10, TimeUnit.SECONDS)
+
+        then:
+        er.data == [a: [id: "1", maker: [name: "maker1"]], b: [id: "2", maker: [name: "maker2"]], c: null]
+        er.errors.collect { it.message } == ["/c/id does not exist"]
+        // the guarded fields are only fetched once they exist, and their own loads are served by the existence checks
+        // from the data loader cache, while the level below is batched as normal
+        batchesByLoader["carById"] == [["1", "2", "9"]]
+        batchesByLoader["makerByCarId"] == [["1", "2"]]
+    }
+}
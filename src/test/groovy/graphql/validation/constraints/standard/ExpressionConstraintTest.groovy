@@ -1,8 +1,14 @@
 package graphql.validation.constraints.standard
 
+import graphql.schema.idl.RuntimeWiring
+import graphql.validation.TestUtil
 import graphql.validation.constraints.BaseConstraintTestSupport
 import graphql.validation.constraints.DirectiveConstraint
+import graphql.validation.constraints.DirectiveConstraints
 import graphql.validation.rules.ValidationEnvironment
+import graphql.validation.rules.ValidationRules
+import graphql.validation.schemawiring.ValidationSchemaWiring
+import jakarta.el.ELException
 import spock.lang.Unroll
 
 class ExpressionConstraintTest extends BaseConstraintTestSupport {
@@ -55,4 +61,22 @@ class ExpressionConstraintTest extends BaseConstraintTestSupport {
         '''@Expression(value : "${validatedValue.length() > 2}" )'''  | "ABC"  | ""
     }
 
-}
\ No newline at end of file
+    def "a malformed expression fails when the schema is wired rather than when its field runs"() {
+
+        def validationRules = ValidationRules.newValidationRules().build()
+        def sdl = DirectiveConstraints.newDirectiveConstraints().build().directivesSDL + '''
+            type Query {
+                field(arg : String @Expression(value : "${validatedValue ==}")) : ID
+            }
+        '''
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .directiveWiring(new ValidationSchemaWiring(validationRules))
+                .build()
+
+        when:
+        TestUtil.schema(sdl, runtime)
+
+        then:
+        thrown(ELException)
+    }
+}
@@ -29,6 +29,13 @@ class MinMaxConstraintTest extends BaseConstraintTestSupport {
         "field( arg : Int @Min(value : 50) ) : ID"                      | 50       | ""
         "field( arg : Int @Min(value : 50) ) : ID"                      | 51       | ""
 
+        // whole numbers are compared as longs and everything else as BigDecimals
+        "field( arg : Int @Min(value : 50) ) : ID"                      | Long.MIN_VALUE                          | "Min;path=/arg;val:-9223372036854775808;\t"
+        "field( arg : Int @Min(value : 50) ) : ID"                      | Long.MAX_VALUE                          | ""
+        "field( arg : Int @Min(value : 50) ) : ID"                      | new BigDecimal("49.99")                 | "Min;path=/arg;val:49.99;\t"
+        "field( arg : Int @Min(value : 50) ) : ID"                      | new BigDecimal("50.0")                  | ""
+        "field( arg : Int @Min(value : 50) ) : ID"                      | new BigInteger("-100000000000000000000") | "Min;path=/arg;val:-100000000000000000000;\t"
+
         // nulls are valid
         'field( arg : Int @Min(value : 50) ) : ID'                      | null     | ''
 
@@ -60,6 +67,13 @@ class MinMaxConstraintTest extends BaseConstraintTestSupport {
         "field( arg : Int @Max(value : 50) ) : ID"                      | 50       | ""
         "field( arg : Int @Max(value : 50) ) : ID"                      | 49       | ""
 
+        // whole numbers are compared as longs and everything else as BigDecimals
+        "field( arg : Int @Max(value : 50) ) : ID"                      | Long.MAX_VALUE                         | "Max;path=/arg;val:9223372036854775807;\t"
+        "field( arg : Int @Max(value : 50) ) : ID"                      | Long.MIN_VALUE                         | ""
+        "field( arg : Int @Max(value : 50) ) : ID"                      | new BigDecimal("50.01")                | "Max;path=/arg;val:50.01;\t"
+        "field( arg : Int @Max(value : 50) ) : ID"                      | new BigDecimal("49.99")                | ""
+        "field( arg : Int @Max(value : 50) ) : ID"                      | new BigInteger("100000000000000000000") | "Max;path=/arg;val:100000000000000000000;\t"
+
         // nulls are valid
         'field( arg : Int @Max(value : 50) ) : ID'                      | null     | ''
 
@@ -34,4 +34,22 @@ class PatternConstraintTest extends BaseConstraintTestSupport {
         // nulls are valid
         'field( arg : String @Pattern(regexp:"[A-Z]*") ) : ID' | null   | ''
     }
-}
\ No newline at end of file
+
+    @Unroll
+    def "each pattern placement is checked against its own compiled pattern"() {
+
+        DirectiveConstraint ruleUnderTest = new PatternConstraint()
+
+        expect:
+
+        def errors = runArgumentsValidation(ruleUnderTest, fieldDeclaration, args)
+        assertErrors(errors, expectedMessage)
+
+        where:
+
+        fieldDeclaration                                                                             | args                                | expectedMessage
+        'field( a : String @Pattern(regexp:"[A-Z]*"), b : [String] @Pattern(regexp:"[0-9]*") ) : ID' | [a: "ABC", b: ["123", "456"]]       | ''
+        'field( a : String @Pattern(regexp:"[A-Z]*"), b : [String] @Pattern(regexp:"[0-9]*") ) : ID' | [a: "123", b: ["ABC", "456"]]       | 'Pattern;path=/a;val:123;\tPattern;path=/b[0];val:ABC;\t'
+        'field( a : String @Pattern(regexp:"[A-Z]*"), b : [String] @Pattern(regexp:"[0-9]*") ) : ID' | [a: "ABC", b: ["1", "2", "x", "y"]] | 'Pattern;path=/b[2];val:x;\tPattern;path=/b[3];val:y;\t'
+    }
+}
@@ -34,6 +34,19 @@ class RangeConstraintTest extends BaseConstraintTestSupport {
         "field( arg : String @Range(max : 10) ) : ID"                    | Integer.valueOf("12") | "Range;path=/arg;val:12;\t"
         "field( arg : String @Range(max : 10) ) : ID"                    | Short.valueOf("12")   | "Range;path=/arg;val:12;\t"
 
+        // whole numbers are compared as longs and everything else as BigDecimals
+        "field( arg : String @Range(max : 10) ) : ID"                    | Long.MAX_VALUE                            | "Range;path=/arg;val:9223372036854775807;\t"
+        "field( arg : String @Range(min : 5) ) : ID"                     | Long.MIN_VALUE                            | "Range;path=/arg;val:-9223372036854775808;\t"
+        "field( arg : String @Range(max : 10) ) : ID"                    | Integer.valueOf("10")                     | ""
+        "field( arg : String @Range(min : -5, max : 10) ) : ID"          | Integer.valueOf("-5")                     | ""
+        "field( arg : String @Range(min : -5, max : 10) ) : ID"          | Integer.valueOf("-6")                     | "Range;path=/arg;val:-6;\t"
+        "field( arg : String @Range(max : 10) ) : ID"                    | new BigDecimal("10.5")                    | "Range;path=/arg;val:10.5;\t"
+        "field( arg : String @Range(max : 10) ) : ID"                    | new BigDecimal("9.99")                    | ""
+        "field( arg : String @Range(max : 10) ) : ID"                    | new BigInteger("100000000000000000000")   | "Range;path=/arg;val:100000000000000000000;\t"
+        "field( arg : String @Range(max : 10000) ) : ID"                 | "1e3"                                     | ""
+        "field( arg : String @Range(max : 10) ) : ID"                    | "1e3"                                     | "Range;path=/arg;val:1e3;\t"
+        "field( arg : String @Range(max : 10) ) : ID"                    | "ten"                                     | "Range;path=/arg;val:ten;\t"
+
         // Lists
         'field( arg : [String] @Range(max : 10) ) : ID'                  | [50, 0]               | 'Range;path=/arg[0];val:50;\t'
         'field( arg : [String] @Range(max : 10) ) : ID'                  | [9, 8]                | ''
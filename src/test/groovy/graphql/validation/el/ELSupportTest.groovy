@@ -1,5 +1,6 @@
 package graphql.validation.el
 
+import graphql.validation.rules.ValidationEnvironment
 
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -61,4 +62,35 @@ class ELSupportTest extends Specification {
         '''${value==20}''' | true     | [value: 20]
         '''${value!=20}''' | false    | [value: 20]
     }
+
+    def "a compiled expression can be evaluated many times with different variables"() {
+        def compiled = ELSupport.compile('''${validatedValue > 5 && args.containsOneOf('first','last')}''', Boolean.class)
+        def el = new ELSupport(Locale.getDefault())
+
+        expect:
+        el.evaluateBoolean(compiled, [validatedValue: 10, args: [first: 1]])
+        !el.evaluateBoolean(compiled, [validatedValue: 1, args: [first: 1]])
+        !el.evaluateBoolean(compiled, [validatedValue: 10, args: [first: 1, last: 2]])
+    }
+
+    def "formatter is available to expressions"() {
+        def el = new ELSupport(Locale.ENGLISH)
+
+        expect:
+        el.evaluate('''${formatter.format('%1$.2f', validatedValue)}''', [validatedValue: 42.0d]) == "42.00"
+    }
+
+    def "standard variables are read from the validation environment"() {
+        def env = ValidationEnvironment.newValidationEnvironment()
+                .validatedValue(7)
+                .argumentValues([first: 1])
+                .build()
+        def variables = StandardELVariables.standardELVars(env)
+        def el = new ELSupport(Locale.getDefault())
+
+        expect:
+        el.evaluateBoolean('''${validatedValue == 7 && args.first == 1 && arguments.containsOneOf('first','last') && gqlArgument == null}''', variables)
+        variables.keySet() as List == ["validatedValue", "gqlField", "gqlFieldContainer", "gqlArgument", "args", "arguments"]
+        variables["validatedValue"] == 7
+    }
 }
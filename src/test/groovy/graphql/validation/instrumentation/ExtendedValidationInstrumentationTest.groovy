@@ -0,0 +1,207 @@
+package graphql.validation.instrumentation
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.GraphQLError
+import graphql.schema.GraphQLArgument
+import graphql.schema.GraphQLFieldDefinition
+import graphql.schema.GraphQLFieldsContainer
+import graphql.schema.idl.RuntimeWiring
+import graphql.validation.TestUtil
+import graphql.validation.constraints.DirectiveConstraints
+import graphql.validation.rules.AsyncValidationRule
+import graphql.validation.rules.ValidationEnvironment
+import graphql.validation.rules.ValidationRules
+import graphql.validation.schemawiring.ValidationSchemaWiring
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class ExtendedValidationInstrumentationTest extends Specification {
+
+    def directiveRules = DirectiveConstraints.newDirectiveConstraints().build()
+
+    def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            interface Priced {
+                price(currency : String) : Int
+            }
+
+            type Car implements Priced {
+                model : String
+                price(currency : String @Size(max : 3)) : Int
+            }
+
+            type Truck implements Priced {
+                price(currency : String @Size(max : 3)) : Int
+            }
+
+            type Query {
+                cars(make : String @Size(max : 10)) : [Car]
+                priced : [Priced]
+            }
+        '''
+
+    def fetches = []
+
+    GraphQL buildGraphQL(ValidationRules validationRules) {
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("cars", { env -> fetches.add("cars"); [[model: "Prado"], [model: "Corolla"]] })
+                        .dataFetcher("priced", { env -> fetches.add("priced"); [[model: "Prado"]] }))
+                .type(newTypeWiring("Car")
+                        .dataFetcher("price", { env -> fetches.add("price"); 10 }))
+                .type(newTypeWiring("Priced").typeResolver({ env -> env.schema.getObjectType("Car") }))
+                .directiveWiring(new ValidationSchemaWiring(validationRules))
+                .build()
+        return GraphQL.newGraphQL(TestUtil.schema(sdl, runtime))
+                .instrumentation(new ExtendedValidationInstrumentation(validationRules))
+                .build()
+    }
+
+    def "invalid operations are rejected before any field is fetched"() {
+
+        def graphQL = buildGraphQL(ValidationRules.newValidationRules().build())
+
+        when:
+        def er = graphQL.execute(ExecutionInput.newExecutionInput('''
+            query q($currency : String) {
+                cars(make : "Toyota") {
+                    model
+                    price(currency : $currency)
+                }
+            }
+        ''').variables([currency: "EURO"]).build())
+
+        then:
+        er.data == null
+        er.errors.collect { it.message } == ["/cars/price/currency size must be between 0 and 3"]
+        fetches == []
+    }
+
+    def "valid operations are executed as normal"() {
+
+        def graphQL = buildGraphQL(ValidationRules.newValidationRules().build())
+
+        when:
+        def er = graphQL.execute('''
+            {
+                cars(make : "Toyota") {
+                    model
+                    price(currency : "EUR")
+                }
+            }
+        ''')
+
+        then:
+        er.errors.isEmpty()
+        er.data == [cars: [[model: "Prado", price: 10], [model: "Corolla", price: 10]]]
+        fetches == ["cars", "price", "price"]
+    }
+
+    def "the errors of an operation are limited by the request error limit"() {
+
+        def graphQL = buildGraphQL(ValidationRules.newValidationRules().maxErrorsPerRequest(2).build())
+
+        when:
+        def er = graphQL.execute('''
+            {
+                cars(make : "Toyota Motor Corporation") {
+                    a : price(currency : "EURO")
+                    b : price(currency : "POUND")
+                }
+            }
+        ''')
+
+        then:
+        er.data == null
+        er.errors.collect { it.message } == ["/cars/make size must be between 0 and 10", "/cars/a/currency size must be between 0 and 3"]
+        fetches == []
+    }
+
+    def "fields selected on an interface are only rejected if they are invalid for every implementation"() {
+
+        def graphQL = buildGraphQL(ValidationRules.newValidationRules().build())
+
+        when:
+        def er = graphQL.execute('''
+            {
+                priced {
+                    price(currency : "EURO")
+                }
+            }
+        ''')
+
+        then:
+        er.data == null
+        er.errors.collect { it.message } == ["/priced/price/currency size must be between 0 and 3"]
+        fetches == []
+    }
+
+    def "fields of different types that share a path are each validated"() {
+
+        def graphQL = buildGraphQL(ValidationRules.newValidationRules().build())
+
+        when:
+        def er = graphQL.execute('''
+            {
+                priced {
+                    ... on Car {
+                        price(currency : "EUR")
+                    }
+                    ... on Truck {
+                        price(currency : "EURO")
+                    }
+                }
+            }
+        ''')
+
+        then:
+        er.data == null
+        er.errors.collect { it.message } == ["/priced/price/currency size must be between 0 and 3"]
+        fetches == []
+    }
+
+    def "async rules are left to the data fetchers"() {
+
+        def validatedMakes = []
+        def makeRule = new AsyncValidationRule() {
+            @Override
+            boolean appliesTo(GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+                return false
+            }
+
+            @Override
+            boolean appliesTo(GraphQLArgument argument, GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+                return argument.name == "make"
+            }
+
+            @Override
+            CompletionStage<List<GraphQLError>> runValidationAsync(ValidationEnvironment validationEnvironment) {
+                validatedMakes.add(validationEnvironment.validatedValue)
+                return CompletableFuture.completedFuture([])
+            }
+        }
+        def graphQL = buildGraphQL(ValidationRules.newValidationRules().addRule(makeRule).build())
+
+        when:
+        def er = graphQL.execute('''
+            {
+                cars(make : "Toyota") {
+                    model
+                }
+            }
+        ''')
+
+        then:
+        er.errors.isEmpty()
+        er.data == [cars: [[model: "Prado"], [model: "Corolla"]]]
+        // once by the data fetcher of the field and not before the operation is executed
+        validatedMakes == ["Toyota"]
+    }
+}
@@ -1,11 +1,13 @@
 package graphql.validation.interpolation
 
+import graphql.Scalars
 import graphql.execution.ResultPath
 import graphql.schema.GraphQLArgument
 import graphql.schema.GraphQLFieldDefinition
 import graphql.schema.GraphQLFieldsContainer
 import graphql.schema.GraphQLSchema
 import graphql.validation.TestUtil
+import graphql.validation.rules.ValidationCursor
 import graphql.validation.rules.ValidationEnvironment
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -95,4 +97,86 @@ class ResourceBundleMessageInterpolatorTest extends Specification {
 
 
     }
+
+    def "messages are only interpolated when they are asked for"() {
+
+        def bundleLookups = 0
+        def interpolatorUnderTest = new ResourceBundleMessageInterpolator() {
+            @Override
+            protected ResourceBundle getResourceBundle(Locale locale) {
+                bundleLookups++
+                return null
+            }
+        }
+
+        def messageParams = ["validatedValue": "x", "p1": "pv1"]
+        ValidationEnvironment validationEnvironment = buildEnv(schema, "arg", "x", interpolatorUnderTest, null)
+
+        when:
+        def error = interpolatorUnderTest.interpolate('Must match {p1}', messageParams, validationEnvironment)
+
+        then:
+        bundleLookups == 0
+        error.path == ["field"]
+        error.locations == []
+
+        when:
+        def message = error.message
+        def specification = error.toSpecification()
+
+        then:
+        message == 'Must match pv1'
+        specification["message"] == 'Must match pv1'
+        specification["extensions"]["classification"]["type"] == "ExtendedValidationError"
+        bundleLookups == 1
+    }
+
+    def "an error made at a cursor renders the value the cursor was on when the error was made"() {
+
+        def interpolatorUnderTest = new ResourceBundleMessageInterpolator()
+        ValidationEnvironment validationEnvironment = buildEnv(schema, "arg", ["a", "b"], interpolatorUnderTest, null)
+        def cursor = new ValidationCursor(ValidationEnvironment.newValidationEnvironment().validationEnvironment(validationEnvironment))
+
+        when:
+        cursor.pushElement(0, "a", Scalars.GraphQLString)
+        def error = interpolatorUnderTest.interpolate('Bad ${validatedValue} in ${gqlArgument.name}', [:], cursor)
+        cursor.pop()
+        cursor.pushElement(1, "b", Scalars.GraphQLString)
+
+        then:
+        error.message == 'Bad a in arg'
+    }
+
+    def "resource bundles are read once per locale and the override bundle wins"() {
+
+        def bundleLookups = 0
+        def overrideBundle = new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return [["graphql.validation.Size.message", "overridden {min}"] as Object[]] as Object[][]
+            }
+        }
+        def interpolatorUnderTest = new ResourceBundleMessageInterpolator() {
+            @Override
+            protected ResourceBundle getResourceBundle(Locale locale) {
+                bundleLookups++
+                return overrideBundle
+            }
+        }
+
+        def messageParams = ["validatedValue": "x", "min": "5", "max": "10"]
+        ValidationEnvironment validationEnvironment = buildEnv(schema, "arg", "x", interpolatorUnderTest, Locale.ENGLISH)
+
+        when:
+        def messages = (1..3).collect {
+            [
+                    interpolatorUnderTest.interpolate('graphql.validation.Size.message', messageParams, validationEnvironment).message,
+                    interpolatorUnderTest.interpolate('graphql.test.message.unknown', messageParams, validationEnvironment).message,
+            ]
+        }
+
+        then:
+        messages.every { it == ['overridden 5', 'graphql.test.message.unknown'] }
+        bundleLookups == 1
+    }
 }
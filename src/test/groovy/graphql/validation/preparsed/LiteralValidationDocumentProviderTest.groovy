@@ -0,0 +1,171 @@
+package graphql.validation.preparsed
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.execution.preparsed.PreparsedDocumentProvider
+import graphql.schema.idl.RuntimeWiring
+import graphql.validation.TestUtil
+import graphql.validation.constraints.DirectiveConstraints
+import graphql.validation.rules.ValidationRules
+import graphql.validation.schemawiring.ValidationSchemaWiring
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.function.Function
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class LiteralValidationDocumentProviderTest extends Specification {
+
+    def directiveRules = DirectiveConstraints.newDirectiveConstraints().build()
+
+    def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            type Car {
+                model : String
+                price(currency : String @Size(max : 3)) : Int
+            }
+
+            type Truck {
+                price(currency : String @Size(max : 3)) : Int
+            }
+
+            union Vehicle = Car | Truck
+
+            type Query {
+                cars(make : String @Size(max : 10)) : [Car]
+                vehicles : [Vehicle]
+            }
+        '''
+
+    def fetches = []
+
+    def cachingProvider = new PreparsedDocumentProvider() {
+        def cache = [:]
+        def parses = 0
+
+        @Override
+        CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+            return CompletableFuture.completedFuture(cache.computeIfAbsent(executionInput.query, { query ->
+                parses++
+                parseAndValidateFunction.apply(executionInput)
+            }))
+        }
+    }
+
+    GraphQL buildGraphQL(ValidationRules validationRules) {
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("cars", { env -> fetches.add("cars"); [[model: "Prado"]] })
+                        .dataFetcher("vehicles", { env -> fetches.add("vehicles"); [[model: "Prado"]] }))
+                .type(newTypeWiring("Car")
+                        .dataFetcher("price", { env -> fetches.add("price"); 10 }))
+                .type(newTypeWiring("Vehicle").typeResolver({ env -> env.schema.getObjectType("Car") }))
+                .directiveWiring(new ValidationSchemaWiring(validationRules))
+                .build()
+        def schema = TestUtil.schema(sdl, runtime)
+        return GraphQL.newGraphQL(schema)
+                .preparsedDocumentProvider(new LiteralValidationDocumentProvider(validationRules, schema, cachingProvider))
+                .build()
+    }
+
+    def "documents with invalid literal arguments are rejected before execution"() {
+
+        def graphQL = buildGraphQL(ValidationRules.newValidationRules().build())
+        def query = '''
+            {
+                cars(make : "Toyota") {
+                    model
+                    ... carPrice
+                }
+            }
+
+            fragment carPrice on Car {
+                price(currency : "EURO")
+            }
+        '''
+
+        when:
+        def er = graphQL.execute(query)
+
+        then:
+        er.data == null
+        er.errors.collect { it.message } == ["/cars/price/currency size must be between 0 and 3"]
+        fetches == []
+        cachingProvider.parses == 1
+
+        when:
+        er = graphQL.execute(query)
+
+        then:
+        er.errors.collect { it.message } == ["/cars/price/currency size must be between 0 and 3"]
+        fetches == []
+        cachingProvider.parses == 1
+    }
+
+    def "arguments that use variables are left to be validated as the fields are executed"() {
+
+        def graphQL = buildGraphQL(ValidationRules.newValidationRules().build())
+
+        when:
+        def er = graphQL.execute(ExecutionInput.newExecutionInput('''
+            query q($currency : String) {
+                cars(make : "Toyota") {
+                    model
+                    price(currency : $currency)
+                }
+            }
+        ''').variables([currency: "EURO"]).build())
+
+        then:
+        er.data == [cars: [[model: "Prado", price: null]]]
+        er.errors.collect { it.message } == ["/cars[0]/price/currency size must be between 0 and 3"]
+        fetches == ["cars"]
+    }
+
+    def "documents with valid literal arguments are executed as normal"() {
+
+        def graphQL = buildGraphQL(ValidationRules.newValidationRules().build())
+
+        when:
+        def er = graphQL.execute('''
+            {
+                cars(make : "Toyota") {
+                    price(currency : "EUR")
+                }
+            }
+        ''')
+
+        then:
+        er.errors.isEmpty()
+        er.data == [cars: [[price: 10]]]
+        fetches == ["cars", "price"]
+    }
+
+    def "fields of different types that share a path are each validated"() {
+
+        def graphQL = buildGraphQL(ValidationRules.newValidationRules().build())
+
+        when:
+        def er = graphQL.execute('''
+            {
+                vehicles {
+                    ... on Car {
+                        price(currency : "EUR")
+                    }
+                    ... on Truck {
+                        price(currency : "EURO")
+                    }
+                }
+            }
+        ''')
+
+        then:
+        er.data == null
+        er.errors.collect { it.message } == ["/vehicles/price/currency size must be between 0 and 3"]
+        fetches == []
+    }
+}
@@ -1,9 +1,190 @@
 package graphql.validation.rules
 
-
+import graphql.GraphQLError
+import graphql.execution.ExecutionStepInfo
+import graphql.execution.MergedField
+import graphql.execution.ResultPath
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.DataFetchingEnvironmentImpl
+import graphql.schema.GraphQLArgument
+import graphql.schema.GraphQLFieldDefinition
+import graphql.schema.GraphQLFieldsContainer
+import graphql.schema.GraphQLObjectType
+import graphql.schema.GraphQLSchema
+import graphql.validation.TestUtil
+import graphql.validation.constraints.DirectiveConstraint
+import graphql.validation.constraints.Documentation
 import spock.lang.Specification
 
+import static graphql.GraphqlErrorBuilder.newError
+
 class TargetedValidationRulesTest extends Specification {
 
+    def sdl = '''
+            input Item {
+                code : String
+                price : Int
+                inner : Item
+            }
+
+            type Query {
+                field(items : [Item!]) : String
+            }
+        '''
+
+    def schema = TestUtil.schema(sdl)
+
+    static class PathRecordingRule implements ValidationRule {
+        String name
+        List<String> visits = []
+
+        PathRecordingRule(String name) {
+            this.name = name
+        }
+
+        @Override
+        boolean appliesTo(GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+            return false
+        }
+
+        @Override
+        boolean appliesTo(GraphQLArgument argument, GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+            return true
+        }
+
+        @Override
+        List<GraphQLError> runValidation(ValidationEnvironment validationEnvironment) {
+            def path = validationEnvironment.getValidatedPath().toString()
+            visits.add(path)
+            if (validationEnvironment.getValidatedValue() instanceof String) {
+                return [newError().message(name + ":" + path).build()]
+            }
+            return []
+        }
+    }
+
+    static class TagRecordingConstraint extends PathRecordingRule implements DirectiveConstraint {
+
+        TagRecordingConstraint() {
+            super("Tag")
+        }
+
+        @Override
+        Documentation getDocumentation() {
+            return Documentation.newDocumentation().build()
+        }
+    }
+
+    DataFetchingEnvironment buildDfe(Map<String, Object> args) {
+        buildDfe(schema, "field", args)
+    }
+
+    DataFetchingEnvironment buildDfe(GraphQLSchema schema, String fieldName, Map<String, Object> args) {
+        GraphQLObjectType queryType = schema.getQueryType()
+        GraphQLFieldDefinition fieldDefinition = queryType.getFieldDefinition(fieldName)
+
+        def stepInfo = ExecutionStepInfo.newExecutionStepInfo()
+                .fieldDefinition(fieldDefinition)
+                .fieldContainer(queryType)
+                .type(fieldDefinition.getType())
+                .path(ResultPath.rootPath())
+                .build()
+
+        DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                .fieldDefinition(fieldDefinition)
+                .executionStepInfo(stepInfo)
+                .mergedField(MergedField.newMergedField(TestUtil.parseField(fieldName)).build())
+                .arguments(args)
+                .build()
+    }
+
+    def "walks the argument value once for all rules and keeps errors grouped by rule"() {
+        GraphQLObjectType queryType = schema.getQueryType()
+        GraphQLFieldDefinition fieldDefinition = queryType.getFieldDefinition("field")
+        def coordinates = ValidationCoordinates.newCoordinates(queryType, fieldDefinition, fieldDefinition.getArgument("items"))
+
+        def rule1 = new PathRecordingRule("r1")
+        def rule2 = new PathRecordingRule("r2")
+
+        def rules = TargetedValidationRules.newValidationRules()
+                .addRule(coordinates, rule1)
+                .addRule(coordinates, rule2)
+                .build()
+
+        def dfe = buildDfe([items: [[code: "a", price: 1], [code: "b", inner: [code: "c"]]]])
+
+        when:
+        def errors = rules.runValidationRules(dfe, null, Locale.getDefault())
+
+        then:
+        errors.collect { it.message } == [
+                "r1:/items[0]/code",
+                "r1:/items[1]/code",
+                "r1:/items[1]/inner/code",
+                "r2:/items[0]/code",
+                "r2:/items[1]/code",
+                "r2:/items[1]/inner/code",
+        ]
+
+        rule1.visits == rule2.visits
+        rule1.visits == [
+                "/items",
+                "/items[0]",
+                "/items[0]/code",
+                "/items[0]/price",
+                "/items[1]",
+                "/items[1]/code",
+                "/items[1]/inner",
+                "/items[1]/inner/code",
+        ]
+    }
+
+    def "the compiled plan only visits the positions that carry the directive of a directive constraint"() {
+        def treeSchema = TestUtil.schema('''
+            directive @Tag on ARGUMENT_DEFINITION | INPUT_FIELD_DEFINITION
+
+            input Node {
+                name : String @Tag
+                children : [Node]
+                other : Other
+            }
+
+            input Other {
+                x : Int
+            }
+
+            type Query {
+                tree(node : Node) : String
+            }
+        ''')
+
+        GraphQLObjectType queryType = treeSchema.getQueryType()
+        GraphQLFieldDefinition fieldDefinition = queryType.getFieldDefinition("tree")
+        def coordinates = ValidationCoordinates.newCoordinates(queryType, fieldDefinition, fieldDefinition.getArgument("node"))
+
+        def constraint = new TagRecordingConstraint()
+        def rules = TargetedValidationRules.newValidationRules()
+                .addRule(coordinates, constraint)
+                .build()
+
+        def plan = rules.buildPlanFor(fieldDefinition, queryType)
+
+        def dfe = buildDfe(treeSchema, "tree", [node: [
+                name    : "a",
+                other   : [x: 1],
+                children: [[name: "b"], [children: [[name: "c", other: [x: 2]]]]]
+        ]])
+
+        when:
+        def errors = plan.runValidation(dfe, null, Locale.getDefault())
 
+        then:
+        !plan.isEmpty()
+        constraint.visits == [
+                "/node/children[0]/name",
+                "/node/children[1]/children[0]/name",
+                "/node/name",
+        ]
+        errors.size() == 3
+    }
 }
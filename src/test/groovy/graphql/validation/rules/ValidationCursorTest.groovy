@@ -0,0 +1,108 @@
+package graphql.validation.rules
+
+import graphql.Scalars
+import graphql.execution.ResultPath
+import graphql.schema.GraphQLAppliedDirective
+import spock.lang.Specification
+
+import static graphql.validation.rules.ValidationEnvironment.ValidatedElement.ARGUMENT
+import static graphql.validation.rules.ValidationEnvironment.ValidatedElement.INPUT_OBJECT_FIELD
+
+class ValidationCursorTest extends Specification {
+
+    def rootPath = ResultPath.rootPath().segment("field").segment("arg")
+    def directive = GraphQLAppliedDirective.newDirective().name("Size").build()
+
+    ValidationCursor newCursor() {
+        new ValidationCursor(ValidationEnvironment.newValidationEnvironment()
+                .validatedElement(ARGUMENT)
+                .validatedPath(rootPath)
+                .validatedValue([[name: "a"]])
+                .validatedType(Scalars.GraphQLString))
+    }
+
+    def "push and pop move the cursor over the value"() {
+        def cursor = newCursor()
+
+        when:
+        cursor.pushElement(0, [name: "a"], Scalars.GraphQLString, [])
+        cursor.pushField("name", "a", Scalars.GraphQLString, [directive])
+
+        then:
+        cursor.getValidatedPath().toString() == "/field/arg[0]/name"
+        cursor.getValidatedValue() == "a"
+        cursor.getValidatedElement() == INPUT_OBJECT_FIELD
+        cursor.getDirectives() == [directive]
+        cursor.getContextObject(GraphQLAppliedDirective.class) == null
+
+        when:
+        cursor.pushDirective(directive)
+
+        then:
+        cursor.getValidatedPath().toString() == "/field/arg[0]/name"
+        cursor.getContextObject(GraphQLAppliedDirective.class) == directive
+
+        when:
+        cursor.pop()
+        cursor.pop()
+        cursor.pop()
+
+        then:
+        cursor.getValidatedPath() == rootPath
+        cursor.getValidatedValue() == [[name: "a"]]
+        cursor.getValidatedElement() == ARGUMENT
+    }
+
+    def "a snapshot does not move with the cursor"() {
+        def cursor = newCursor()
+
+        when:
+        cursor.pushElement(0, [name: "a"], Scalars.GraphQLString, [])
+        cursor.pushDirective(directive)
+        def snapshot = cursor.snapshot()
+        cursor.pop()
+        cursor.pop()
+
+        then:
+        !(snapshot instanceof ValidationCursor)
+        snapshot.getValidatedPath().toString() == "/field/arg[0]"
+        snapshot.getValidatedValue() == [name: "a"]
+        snapshot.getContextObject(GraphQLAppliedDirective.class) == directive
+        cursor.getValidatedPath() == rootPath
+    }
+
+    def "a snapshot carries the directive being run wherever the cursor is"() {
+        def otherDirective = GraphQLAppliedDirective.newDirective().name("Pattern").build()
+        def cursor = new ValidationCursor(ValidationEnvironment.newValidationEnvironment()
+                .validatedElement(ARGUMENT)
+                .validatedPath(rootPath)
+                .validatedValue("a")
+                .validatedType(Scalars.GraphQLString)
+                .context(GraphQLAppliedDirective.class, directive)
+                .context(String.class, "other"))
+
+        expect:
+        cursor.snapshot().getContextObject(GraphQLAppliedDirective.class) == directive
+        cursor.snapshot().getContextObject(String.class) == "other"
+
+        when:
+        cursor.pushDirective(otherDirective)
+        def snapshot = cursor.snapshot()
+        cursor.pop()
+
+        then:
+        snapshot.getContextObject(GraphQLAppliedDirective.class) == otherDirective
+        snapshot.getContextObject(String.class) == "other"
+        cursor.getContextObject(GraphQLAppliedDirective.class) == directive
+    }
+
+    def "the cursor cannot be popped past its root"() {
+        def cursor = newCursor()
+
+        when:
+        cursor.pop()
+
+        then:
+        thrown(IllegalStateException)
+    }
+}
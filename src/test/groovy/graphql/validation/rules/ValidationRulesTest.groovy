@@ -1,15 +1,26 @@
 package graphql.validation.rules
 
 import graphql.GraphQL
+import graphql.AssertException
+import graphql.ExecutionInput
+import graphql.GraphQLError
 import graphql.execution.DataFetcherResult
 import graphql.schema.DataFetcher
 import graphql.schema.DataFetchingEnvironment
+import graphql.schema.GraphQLArgument
+import graphql.schema.GraphQLFieldDefinition
+import graphql.schema.GraphQLFieldsContainer
+import graphql.schema.GraphQLObjectType
 import graphql.schema.idl.RuntimeWiring
 import graphql.validation.TestUtil
+import graphql.validation.constraints.DirectiveConstraint
 import graphql.validation.constraints.DirectiveConstraints
+import graphql.validation.constraints.Documentation
 import graphql.validation.schemawiring.ValidationSchemaWiring
 import spock.lang.Specification
 
+import java.util.concurrent.Executor
+
 import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
 
 class ValidationRulesTest extends Specification {
@@ -150,4 +161,390 @@ class ValidationRulesTest extends Specification {
         er.errors[4].getMessage() == "/request/arg/innerList[0]/title size must be between 1 and 1"
         er.errors[5].getMessage() == "/request/arg/title size must be between 1 and 1"
     }
+
+    def "the rules that apply to a field are only worked out once per schema"() {
+
+        def appliesToCalls = 0
+        def countingRule = new ValidationRule() {
+            @Override
+            boolean appliesTo(GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+                appliesToCalls++
+                return false
+            }
+
+            @Override
+            boolean appliesTo(GraphQLArgument argument, GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+                return false
+            }
+
+            @Override
+            List<GraphQLError> runValidation(ValidationEnvironment validationEnvironment) {
+                return []
+            }
+        }
+
+        ValidationRules validationRules = ValidationRules.newValidationRules().addRule(countingRule).build()
+
+        DataFetcher df = { DataFetchingEnvironment env ->
+            def errors = validationRules.runValidationRules(env)
+            if (!errors.isEmpty()) {
+                return DataFetcherResult.newResult().errors(errors).data(null).build()
+            }
+            return [[model: "Prado", make: "Toyota"]]
+        }
+
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("cars", df))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+
+        when:
+        def results = (1..3).collect {
+            graphQL.execute('''
+                {
+                    cars (filter : { model : "Ford OR Toyota", age : 20 }) {
+                        model
+                    }
+                }
+            ''')
+        }
+
+        then:
+        results.every { it.errors.size() == 3 }
+        appliesToCalls == 1
+    }
+
+    def "directive constraints are only asked about elements that can reach their directive"() {
+
+        def unusedCalls = 0
+        def unusedConstraint = new DirectiveConstraint() {
+            @Override
+            String getName() {
+                return "Unused"
+            }
+
+            @Override
+            Documentation getDocumentation() {
+                return null
+            }
+
+            @Override
+            boolean appliesTo(GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+                unusedCalls++
+                return false
+            }
+
+            @Override
+            boolean appliesTo(GraphQLArgument argument, GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+                unusedCalls++
+                return false
+            }
+
+            @Override
+            List<GraphQLError> runValidation(ValidationEnvironment validationEnvironment) {
+                return []
+            }
+        }
+
+        ValidationRules validationRules = ValidationRules.newValidationRules().addRule(unusedConstraint).build()
+
+        def queryType = schema.getType("Query") as GraphQLObjectType
+        def carsField = queryType.getFieldDefinition("cars")
+
+        when:
+        def fieldRules = validationRules.getRulesFor(carsField, queryType)
+        def argRules = validationRules.getRulesFor(carsField.getArgument("filter"), carsField, queryType)
+
+        then:
+        fieldRules.collect { (it as DirectiveConstraint).name } == ["Expression"]
+        argRules.collect { (it as DirectiveConstraint).name } == DirectiveConstraints.STANDARD_CONSTRAINTS
+                .collect { it.name }
+                .findAll { it in ["Expression", "Range", "Size"] }
+        unusedCalls == 0
+    }
+
+    def "validation of a field can stop after a number of errors"() {
+
+        def directiveRules = DirectiveConstraints.newDirectiveConstraints().build()
+
+        def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            input NameRequest {
+                title: String @Size(min : 1, max : 1)
+                givenName: String! @Size(min : 1, max : 1)
+                inner : NameRequest
+                names : [String] @Size(max : 1)
+            }
+
+            type Query {
+                request( arg : NameRequest!) : String
+            }
+        '''
+
+        ValidationRules validationRules = ValidationRules.newValidationRules()
+                .maxErrorsPerField(maxErrors).build()
+
+        DataFetcher df = { DataFetchingEnvironment env ->
+            return "OK"
+        }
+
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("request", df))
+                .directiveWiring(new ValidationSchemaWiring(validationRules))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+
+        when:
+        def er = graphQL.execute('''
+            {
+                request (
+                    arg : {
+                        title : "Mr BRAD", givenName : "BRADLEY"
+                        inner : { title : "Mr BRAD", givenName : "BRADLEY" }
+                        names : ["BRAD", "BRADLEY", "B"]
+                    }
+                )
+            }
+        ''')
+
+        then:
+        er.data["request"] == null
+        er.errors.collect { it.message } == expectedMessages
+
+        where:
+        maxErrors | expectedMessages
+        1         | ["/request/arg/givenName size must be between 1 and 1"]
+        2         | ["/request/arg/givenName size must be between 1 and 1",
+                     "/request/arg/inner/givenName size must be between 1 and 1"]
+        4         | ["/request/arg/givenName size must be between 1 and 1",
+                     "/request/arg/inner/givenName size must be between 1 and 1",
+                     "/request/arg/inner/title size must be between 1 and 1",
+                     "/request/arg/names[0] size must be between 0 and 1"]
+        100       | ["/request/arg/givenName size must be between 1 and 1",
+                     "/request/arg/inner/givenName size must be between 1 and 1",
+                     "/request/arg/inner/title size must be between 1 and 1",
+                     "/request/arg/names[0] size must be between 0 and 1",
+                     "/request/arg/names[1] size must be between 0 and 1",
+                     "/request/arg/title size must be between 1 and 1"]
+    }
+
+    def "the error limit must be positive"() {
+        when:
+        ValidationRules.newValidationRules().maxErrorsPerField(0)
+
+        then:
+        thrown(AssertException)
+    }
+
+    def "a request can only report so many errors"() {
+
+        def directiveRules = DirectiveConstraints.newDirectiveConstraints().build()
+
+        def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            type Query {
+                request( arg : String @Size(max : 1) @Pattern(regexp : "[a-z]*")) : String
+            }
+        '''
+
+        def fetches = 0
+        DataFetcher df = { DataFetchingEnvironment env ->
+            fetches++
+            return "OK"
+        }
+
+        ValidationRules validationRules = ValidationRules.newValidationRules()
+                .maxErrorsPerRequest(3).build()
+
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("request", df))
+                .directiveWiring(new ValidationSchemaWiring(validationRules))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+
+        when:
+        def er = graphQL.execute('''
+            {
+                a : request(arg : "AA")
+                b : request(arg : "BB")
+                c : request(arg : "c")
+                d : request(arg : "DD")
+                e : request(arg : "EE")
+            }
+        ''')
+
+        then:
+        // a spends two of the three errors, b gets the last one and after that invalid fields report no errors
+        er.errors.size() == 3
+        er.errors.collect { it.path } == [["a"], ["a"], ["b"]]
+        // the budget limits the errors and not the data, so the valid field is still fetched
+        er.data == [a: null, b: null, c: "OK", d: null, e: null]
+        fetches == 1
+
+        when: "a new request has a new budget"
+        er = graphQL.execute('''
+            {
+                a : request(arg : "AA")
+                b : request(arg : "BB")
+            }
+        ''')
+
+        then:
+        er.errors.collect { it.path } == [["a"], ["a"], ["b"]]
+        fetches == 1
+    }
+
+    def "the error budget is spent the same way by runValidationRules and the validating data fetchers"() {
+
+        def directiveRules = DirectiveConstraints.newDirectiveConstraints().build()
+
+        def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            type Query {
+                request( arg : String @Size(max : 1) @Pattern(regexp : "[a-z]*")) : String
+            }
+        '''
+
+        ValidationRules validationRules = ValidationRules.newValidationRules()
+                .maxErrorsPerRequest(3).build()
+
+        DataFetcher manualDF = { DataFetchingEnvironment env ->
+            def errors = validationRules.runValidationRules(env)
+            // once the budget is used up an invalid field gets no errors back, so it is told apart without the budget
+            if (!errors.isEmpty() || !validationRules.runValidationRules(env, 1).isEmpty()) {
+                return DataFetcherResult.newResult().errors(errors).data(null).build()
+            }
+            return "OK"
+        }
+        def manualRuntime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("request", manualDF))
+                .build()
+
+        def wiredRuntime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("request", { env -> "OK" } as DataFetcher))
+                .directiveWiring(new ValidationSchemaWiring(validationRules))
+                .build()
+
+        def query = '''
+            {
+                a : request(arg : "AA")
+                b : request(arg : "BB")
+                c : request(arg : "c")
+                d : request(arg : "DD")
+            }
+        '''
+
+        when:
+        def manualER = GraphQL.newGraphQL(TestUtil.schema(sdl, manualRuntime)).build().execute(query)
+        def wiredER = GraphQL.newGraphQL(TestUtil.schema(sdl, wiredRuntime)).build().execute(query)
+
+        then:
+        manualER.errors.collect { it.message } == wiredER.errors.collect { it.message }
+        manualER.errors.collect { it.path } == [["a"], ["a"], ["b"]]
+        manualER.data == wiredER.data
+        manualER.data == [a: null, b: null, c: "OK", d: null]
+    }
+
+    def "many invalid aliases of a field report no more errors than the request allows"() {
+
+        def directiveRules = DirectiveConstraints.newDirectiveConstraints().build()
+
+        def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            type Query {
+                request( arg : String @Size(max : 1)) : String
+            }
+        '''
+
+        ValidationRules validationRules = ValidationRules.newValidationRules()
+                .maxErrorsPerRequest(5).build()
+
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("request", { env -> "OK" } as DataFetcher))
+                .directiveWiring(new ValidationSchemaWiring(validationRules))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+
+        def aliases = (1..50).collect { "f" + it }
+        def query = "{ " + aliases.collect { it + ' : request(arg : "XX")' }.join(" ") + ' ok : request(arg : "x") }'
+
+        when:
+        def er = graphQL.execute(query)
+
+        then:
+        er.errors.size() == 5
+        er.errors.collect { it.path } == aliases.take(5).collect { [it] }
+        // every invalid alias is still rejected
+        aliases.every { er.data[it] == null }
+        er.data.ok == "OK"
+    }
+
+    def "large lists can be validated in parallel with the same errors"() {
+
+        def directiveRules = DirectiveConstraints.newDirectiveConstraints().build()
+
+        def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            input Item {
+                name : String @Size(max : 3)
+                tags : [String] @Size(max : 1)
+            }
+
+            type Query {
+                request(items : [Item] @ContainerSize(max : 100000), codes : [String] @Size(max : 2)) : String
+            }
+        '''
+
+        def executions = 0
+        def executor = { Runnable runnable ->
+            synchronized (this) {
+                executions++
+            }
+            new Thread(runnable).start()
+        } as Executor
+
+        def sequentialRules = ValidationRules.newValidationRules().build()
+        def parallelRules = ValidationRules.newValidationRules().parallelListValidation(10, executor).build()
+
+        def items = (0..<3000).collect { i ->
+            [name: i % 7 == 0 ? "too long" : "ok", tags: i % 11 == 0 ? ["a", "bb"] : ["a"]]
+        }
+        def codes = (0..<3000).collect { i -> i % 5 == 0 ? null : (i % 13 == 0 ? "xyz" : "ab") }
+
+        def run = { ValidationRules validationRules ->
+            DataFetcher df = { DataFetchingEnvironment env ->
+                def errors = validationRules.runValidationRules(env)
+                return DataFetcherResult.newResult().errors(errors).data(null).build()
+            }
+            def runtime = RuntimeWiring.newRuntimeWiring()
+                    .type(newTypeWiring("Query").dataFetcher("request", df))
+                    .build()
+            def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+            graphQL.execute(ExecutionInput.newExecutionInput('''
+                query q($items : [Item], $codes : [String]) {
+                    request(items : $items, codes : $codes)
+                }
+            ''').variables([items: items, codes: codes]).build()).errors.collect { it.message }
+        }
+
+        when:
+        def sequentialErrors = run(sequentialRules)
+        def parallelErrors = run(parallelRules)
+
+        then:
+        !sequentialErrors.isEmpty()
+        parallelErrors == sequentialErrors
+        sequentialErrors.contains("/request/items[7]/name size must be between 0 and 3")
+        executions > 0 || Runtime.runtime.availableProcessors() == 1
+    }
 }
@@ -1,13 +1,43 @@
 package graphql.validation.schemawiring
 
 
+import graphql.ExecutionInput
+import graphql.ExecutionResult
 import graphql.GraphQL
+import graphql.GraphQLError
+import graphql.GraphqlErrorBuilder
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.execution.preparsed.PreparsedDocumentProvider
+import graphql.schema.GraphQLArgument
+import graphql.schema.GraphQLFieldDefinition
+import graphql.schema.GraphQLFieldsContainer
 import graphql.schema.idl.RuntimeWiring
 import graphql.validation.TestUtil
 import graphql.validation.constraints.DirectiveConstraints
+import graphql.validation.constraints.standard.ExistsConstraint
+import graphql.validation.constraints.standard.SizeConstraint
+import graphql.validation.rules.AsyncValidationRule
+import graphql.validation.rules.BlockingValidationRule
+import graphql.validation.rules.ValidationEnvironment
+import graphql.validation.rules.ValidationRule
 import graphql.validation.rules.ValidationRules
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoaderFactory
+import org.dataloader.DataLoaderRegistry
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
 import spock.lang.Specification
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+import java.util.function.Function
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
 class ValidationSchemaWiringTest extends Specification {
 
 
@@ -67,4 +97,744 @@ class ValidationSchemaWiringTest extends Specification {
         er.errors[2].message == "/cars/filter/model size must be between 0 and 10"
         er.errors[2].path == ["cars"]
     }
-}
\ No newline at end of file
+
+    def "a data fetcher built from the rules alone compiles its plan on its first call"() {
+
+        def directiveRules = DirectiveConstraints.newDirectiveConstraints().build()
+
+        def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            type Query {
+                car(model : String @Size(max : 5)) : String
+            }
+        '''
+
+        ValidationRules validationRules = ValidationRules.newValidationRules().build()
+        def dataFetcher = new FieldValidatorDataFetcher(validationRules.getOnValidationErrorStrategy(), validationRules.getMessageInterpolator(),
+                { env -> "car" }, null, validationRules)
+
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("car", dataFetcher))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+
+        when:
+        def er = graphQL.execute('''
+            {
+                a : car(model : "Prado")
+                b : car(model : "Landcruiser")
+            }
+        ''')
+
+        then:
+        er.data == [a: "car", b: null]
+        er.errors.collect { it.message } == ["/b/model size must be between 0 and 5"]
+    }
+
+    def "async rules are composed with the data fetcher"() {
+
+        def directiveRules = DirectiveConstraints.newDirectiveConstraints().build()
+
+        def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            type Query {
+                car(id : ID, name : String @Size(max : 5)) : String
+            }
+        '''
+
+        def knownIds = ["1", "2"] as Set
+        def lookups = []
+        def existsRule = new AsyncValidationRule() {
+            @Override
+            boolean appliesTo(GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+                return false
+            }
+
+            @Override
+            boolean appliesTo(GraphQLArgument argument, GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+                return argument.name == "id"
+            }
+
+            @Override
+            CompletionStage<List<GraphQLError>> runValidationAsync(ValidationEnvironment validationEnvironment) {
+                def lookup = new CompletableFuture<Boolean>()
+                lookups.add(lookup)
+                return lookup.thenApply { found ->
+                    found ? [] : [GraphqlErrorBuilder.newError()
+                                          .message(validationEnvironment.validatedPath.toString() + " does not exist")
+                                          .build()]
+                }
+            }
+        }
+
+        ValidationRules possibleRules = ValidationRules.newValidationRules()
+                .addRule(existsRule)
+                .build()
+
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("car", { env -> "car" + env.getArgument("id") }))
+                .directiveWiring(new ValidationSchemaWiring(possibleRules))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput('''
+            {
+                a : car(id : "1", name : "Prado")
+                b : car(id : "3", name : "Landcruiser")
+            }
+        ''').build())
+
+        then:
+        !result.isDone()
+        lookups.size() == 2
+
+        when:
+        lookups[0].complete(knownIds.contains("1"))
+        lookups[1].complete(knownIds.contains("3"))
+        def er = result.join()
+
+        then:
+        er.data == [a: "car1", b: null]
+        er.errors.collect { it.message } == ["/b/id does not exist", "/b/name size must be between 0 and 5"]
+    }
+
+    def "a wrapped data fetcher is only called once the async rules have found its field valid"() {
+
+        def existsConstraint = new ExistsConstraint()
+        def directiveRules = DirectiveConstraints.newDirectiveConstraints().addRule(existsConstraint).build()
+
+        def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            type Query {
+                car(id : ID @Exists(loader : "carById")) : String
+            }
+        '''
+
+        def batches = []
+        def batchLoader = { List<String> keys ->
+            batches.add(keys)
+            CompletableFuture.completedFuture(keys.collect { it in ["1", "2"] ? "car" + it : null })
+        } as BatchLoader<String, String>
+        def dataLoaderRegistry = new DataLoaderRegistry().register("carById", DataLoaderFactory.newDataLoader(batchLoader))
+
+        ValidationRules possibleRules = ValidationRules.newValidationRules()
+                .addRule(existsConstraint)
+                .build()
+
+        def fetches = []
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("car", { env ->
+                    fetches.add([id: env.getArgument("id"), checked: !batches.isEmpty()])
+                    "car" + env.getArgument("id")
+                }))
+                .directiveWiring(new ValidationSchemaWiring(possibleRules))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+
+        when:
+        def er = graphQL.executeAsync(ExecutionInput.newExecutionInput('''
+            {
+                a : car(id : "1")
+                b : car(id : "2")
+                c : car(id : "9")
+            }
+        ''').dataLoaderRegistry(dataLoaderRegistry).build()).get(10, TimeUnit.SECONDS)
+
+        then:
+        er.data == [a: "car1", b: "car2", c: null]
+        er.errors.collect { it.message } == ["/c/id does not exist"]
+        batches == [["1", "2", "9"]]
+        // the wrapped data fetcher never sees the id that does not exist, and is only called after the existence checks
+        fetches.collect { it.id } as Set == ["1", "2"] as Set
+        fetches.every { it.checked }
+    }
+
+    def "blocking rules are run on the blocking rule executor"() {
+
+        def sdl = """
+            type Query {
+                car(id : ID) : String
+            }
+        """
+
+        def blockingRule = new BlockingValidationRule() {
+            @Override
+            boolean appliesTo(GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+                return false
+            }
+
+            @Override
+            boolean appliesTo(GraphQLArgument argument, GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+                return true
+            }
+
+            @Override
+            List<GraphQLError> runValidation(ValidationEnvironment validationEnvironment) {
+                return validationEnvironment.validatedValue == "1" ? [] : [GraphqlErrorBuilder.newError()
+                                                                                .message(validationEnvironment.validatedPath.toString() + " does not exist")
+                                                                                .build()]
+            }
+        }
+
+        def tasks = []
+        Executor executor = { Runnable task -> tasks.add(task) }
+
+        ValidationRules possibleRules = ValidationRules.newValidationRules()
+                .addRule(blockingRule)
+                .blockingRuleExecutor(executor)
+                .build()
+
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("car", { env -> "car" + env.getArgument("id") }))
+                .directiveWiring(new ValidationSchemaWiring(possibleRules))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput('''
+            {
+                a : car(id : "1")
+                b : car(id : "3")
+            }
+        ''').build())
+
+        then:
+        !result.isDone()
+        tasks.size() == 2
+
+        when:
+        tasks.each { it.run() }
+        def er = result.join()
+
+        then:
+        er.data == [a: "car1", b: null]
+        er.errors.collect { it.message } == ["/b/id does not exist"]
+    }
+
+    def "blocking rules are run in place without a blocking rule executor"() {
+
+        def sdl = """
+            type Query {
+                car(id : ID) : String
+            }
+        """
+
+        def threads = []
+        def blockingRule = new BlockingValidationRule() {
+            @Override
+            boolean appliesTo(GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+                return false
+            }
+
+            @Override
+            boolean appliesTo(GraphQLArgument argument, GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+                return true
+            }
+
+            @Override
+            List<GraphQLError> runValidation(ValidationEnvironment validationEnvironment) {
+                threads.add(Thread.currentThread())
+                return []
+            }
+        }
+
+        ValidationRules possibleRules = ValidationRules.newValidationRules()
+                .addRule(blockingRule)
+                .blockingRuleExecutor(null)
+                .build()
+
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("car", { env -> "car" + env.getArgument("id") }))
+                .directiveWiring(new ValidationSchemaWiring(possibleRules))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+
+        when:
+        def er = graphQL.execute('{ car(id : "1") }')
+
+        then:
+        er.data == [car: "car1"]
+        threads == [Thread.currentThread()]
+    }
+
+    /*
+     * The caching features below share a rule that records the paths it checks and rejects the USD currency
+     */
+
+    def currencySdl = """
+            type Car {
+                price(currency : String) : Int
+                tax(currency : String) : Int
+            }
+
+            interface Dealer {
+                stock : [Car]
+            }
+
+            type NewCarDealer implements Dealer {
+                stock : [Car]
+            }
+
+            type UsedCarDealer implements Dealer {
+                stock : [Car]
+            }
+
+            type Query {
+                cars : [Car]
+                dealers : [Dealer]
+            }
+
+            type Subscription {
+                carAdded : Car
+                carsAdded : [Car]
+                dealersAdded : [Dealer]
+            }
+        """
+
+    def checks = []
+
+    def currencyRule = new ValidationRule() {
+        @Override
+        boolean appliesTo(GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+            return false
+        }
+
+        @Override
+        boolean appliesTo(GraphQLArgument argument, GraphQLFieldDefinition fieldDefinition, GraphQLFieldsContainer fieldsContainer) {
+            return argument.name == "currency"
+        }
+
+        @Override
+        List<GraphQLError> runValidation(ValidationEnvironment validationEnvironment) {
+            checks.add(validationEnvironment.validatedPath.toString())
+            return validationEnvironment.validatedValue != "USD" ? [] : [GraphqlErrorBuilder.newError()
+                                                                              .message(validationEnvironment.validatedPath.toString() + " is not supported")
+                                                                              .build()]
+        }
+    }
+
+    def documents = [:]
+
+    PreparsedDocumentProvider documentCache = new PreparsedDocumentProvider() {
+        @Override
+        CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+            return CompletableFuture.completedFuture(documents.computeIfAbsent(executionInput.query, { parseAndValidateFunction.apply(executionInput) }))
+        }
+    }
+
+    Publisher<Object> publisherOf(List<Object> items) {
+        return { Subscriber<Object> subscriber ->
+            def remaining = new ArrayList<Object>(items)
+            def completed = false
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                void request(long n) {
+                    while (n-- > 0 && !remaining.isEmpty()) {
+                        subscriber.onNext(remaining.remove(0))
+                    }
+                    if (remaining.isEmpty() && !completed) {
+                        completed = true
+                        subscriber.onComplete()
+                    }
+                }
+
+                @Override
+                void cancel() {
+                }
+            })
+        } as Publisher<Object>
+    }
+
+    GraphQL currencyGraphQL(ValidationRules validationRules) {
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("cars", { env -> [[:], [:], [:]] })
+                        .dataFetcher("dealers", { env -> [[type: "NewCarDealer", stock: [[:]]], [type: "UsedCarDealer", stock: [[:]]]] }))
+                .type(newTypeWiring("Dealer").typeResolver({ env -> env.schema.getObjectType(env.object.type) }))
+                .type(newTypeWiring("Subscription")
+                        .dataFetcher("carAdded", { env -> publisherOf([[:], [:], [:]]) })
+                        .dataFetcher("carsAdded", { env -> publisherOf([[[:]], [[:], [:]], [[:], [:], [:]]]) })
+                        .dataFetcher("dealersAdded", { env -> publisherOf([[[type: "NewCarDealer", stock: [[:]]], [type: "UsedCarDealer", stock: [[:]]]]] * 2) }))
+                .type(newTypeWiring("Car")
+                        .dataFetcher("price", { env -> 10 })
+                        .dataFetcher("tax", { env -> 2 }))
+                .directiveWiring(new ValidationSchemaWiring(validationRules))
+                .build()
+        return GraphQL.newGraphQL(TestUtil.schema(currencySdl, runtime)).preparsedDocumentProvider(documentCache).build()
+    }
+
+    List<ExecutionResult> subscribe(GraphQL graphQL, String query) {
+        def events = []
+        def done = new CountDownLatch(1)
+        Publisher<ExecutionResult> results = graphQL.execute(query).getData()
+        results.subscribe(new Subscriber<ExecutionResult>() {
+            @Override
+            void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE)
+            }
+
+            @Override
+            void onNext(ExecutionResult executionResult) {
+                events.add(executionResult)
+            }
+
+            @Override
+            void onError(Throwable throwable) {
+                done.countDown()
+            }
+
+            @Override
+            void onComplete() {
+                done.countDown()
+            }
+        })
+        done.await(5, TimeUnit.SECONDS)
+        return events
+    }
+
+    def "the outcomes of fields with literal arguments are cached per document"() {
+
+        def graphQL = currencyGraphQL(ValidationRules.newValidationRules()
+                .addRule(currencyRule)
+                .validationResultCache(100)
+                .build())
+
+        when:
+        def er1 = graphQL.execute('{ cars { price(currency : "EUR") } }')
+        def er2 = graphQL.execute('{ cars { price(currency : "EUR") } }')
+
+        then:
+        er1.data == [cars: [[price: 10], [price: 10], [price: 10]]]
+        er2.data == er1.data
+        checks == ["/cars[0]/price/currency"]
+
+        when:
+        checks.clear()
+        def er3 = graphQL.execute(ExecutionInput.newExecutionInput('query q($currency : String) { cars { price(currency : $currency) } }')
+                .variables([currency: "EUR"]).build())
+
+        then:
+        er3.data == er1.data
+        checks == ["/cars[0]/price/currency", "/cars[1]/price/currency", "/cars[2]/price/currency"]
+
+        when:
+        checks.clear()
+        def er4 = graphQL.execute('{ cars { price(currency : "USD") } }')
+
+        then:
+        er4.errors.collect { it.message } == ["/cars[0]/price/currency is not supported", "/cars[1]/price/currency is not supported", "/cars[2]/price/currency is not supported"]
+        checks.size() == 3
+    }
+
+    def "the cached outcomes of fields with literal arguments are kept per argument values"() {
+
+        def graphQL = currencyGraphQL(ValidationRules.newValidationRules()
+                .addRule(currencyRule)
+                .validationResultCache(100)
+                .build())
+
+        when:
+        def er = graphQL.execute('''
+            {
+                dealers {
+                    ... on NewCarDealer {
+                        stock {
+                            price(currency : "EUR")
+                        }
+                    }
+                    ... on UsedCarDealer {
+                        stock {
+                            price(currency : "USD")
+                        }
+                    }
+                }
+            }
+        ''')
+
+        then:
+        // both fields are Car.price at /dealers/stock/price and only their literals tell them apart
+        er.data == [dealers: [[stock: [[price: 10]]], [stock: [[price: null]]]]]
+        er.errors.collect { it.message } == ["/dealers[1]/stock[0]/price/currency is not supported"]
+        checks == ["/dealers[0]/stock[0]/price/currency", "/dealers[1]/stock[0]/price/currency"]
+    }
+
+    def "the cached outcomes of fields with literal arguments are kept per locale"() {
+
+        def graphQL = currencyGraphQL(ValidationRules.newValidationRules()
+                .addRule(currencyRule)
+                .validationResultCache(100)
+                .build())
+        def query = '{ cars { price(currency : "EUR") } }'
+
+        when:
+        graphQL.execute(ExecutionInput.newExecutionInput(query).locale(Locale.ENGLISH).build())
+        graphQL.execute(ExecutionInput.newExecutionInput(query).locale(Locale.ENGLISH).build())
+
+        then:
+        checks == ["/cars[0]/price/currency"]
+
+        when:
+        checks.clear()
+        graphQL.execute(ExecutionInput.newExecutionInput(query).locale(Locale.FRENCH).build())
+
+        then:
+        // the messages of the first outcome are in the wrong language for this request
+        checks == ["/cars[0]/price/currency"]
+    }
+
+    def "the caches are still used when there is a request error budget"() {
+
+        def graphQL = currencyGraphQL(ValidationRules.newValidationRules()
+                .addRule(currencyRule)
+                .maxErrorsPerRequest(2)
+                .validationResultCache(100)
+                .cacheSubscriptionValidation(true)
+                .build())
+
+        when:
+        graphQL.execute('{ cars { price(currency : "EUR") } }')
+        def er = graphQL.execute('{ cars { price(currency : "EUR") } }')
+
+        then:
+        er.errors.isEmpty()
+        checks == ["/cars[0]/price/currency"]
+
+        when:
+        checks.clear()
+        def events = subscribe(graphQL, 'subscription { carAdded { price(currency : "USD") } }')
+
+        then:
+        // the events share the budget, which is used up by the third one, whose field is still rejected
+        events.collect { it.errors.collect { it.message } } == [["/carAdded/price/currency is not supported"]] * 2 + [[]]
+        events.collect { it.data } == [[carAdded: [price: null]]] * 3
+        checks == ["/carAdded/price/currency"]
+    }
+
+    def "each variable is validated once per request when asked to"() {
+
+        def directiveRules = DirectiveConstraints.newDirectiveConstraints().build()
+        def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            type Car {
+                price(currency : String @Size(max : 3)) : Int
+                tax(currency : String @Size(max : 3)) : Int
+            }
+
+            type Query {
+                cars : [Car]
+            }
+        '''
+
+        // counts the checks made, on top of the standard @Size constraint that is there by default
+        def sizeConstraint = new SizeConstraint() {
+            @Override
+            protected List<GraphQLError> runConstraint(ValidationEnvironment validationEnvironment) {
+                checks.add(validationEnvironment.validatedPath.toString())
+                return Collections.emptyList()
+            }
+        }
+
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("cars", { env -> [[:], [:], [:]] }))
+                .type(newTypeWiring("Car")
+                        .dataFetcher("price", { env -> 10 })
+                        .dataFetcher("tax", { env -> 2 }))
+                .directiveWiring(new ValidationSchemaWiring(ValidationRules.newValidationRules()
+                        .addRule(sizeConstraint)
+                        .validateEachVariableOnce(true)
+                        .build()))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+        def query = 'query q($currency : String) { cars { price(currency : $currency) tax(currency : $currency) } }'
+
+        when:
+        def er = graphQL.execute(ExecutionInput.newExecutionInput(query).variables([currency: "EUR"]).build())
+
+        then:
+        er.errors.isEmpty()
+        er.data == [cars: [[price: 10, tax: 2]] * 3]
+        checks == ["/cars[0]/price/currency"]
+
+        when:
+        checks.clear()
+        er = graphQL.execute(ExecutionInput.newExecutionInput(query).variables([currency: "EURO"]).build())
+
+        then:
+        er.errors.collect { it.message } == ["/cars[0]/price/currency size must be between 0 and 3", "/cars[0]/tax/currency size must be between 0 and 3",
+                                             "/cars[1]/price/currency size must be between 0 and 3", "/cars[1]/tax/currency size must be between 0 and 3",
+                                             "/cars[2]/price/currency size must be between 0 and 3", "/cars[2]/tax/currency size must be between 0 and 3"]
+        checks.size() == 6
+    }
+
+    def "variables are validated at each use when their rules look beyond the value"() {
+
+        def graphQL = currencyGraphQL(ValidationRules.newValidationRules()
+                .addRule(currencyRule)
+                .validateEachVariableOnce(true)
+                .build())
+        def query = 'query q($currency : String) { cars { price(currency : $currency) tax(currency : $currency) } }'
+
+        when:
+        def er = graphQL.execute(ExecutionInput.newExecutionInput(query).variables([currency: "EUR"]).build())
+
+        then:
+        er.errors.isEmpty()
+        // a custom rule may look at anything in its environment and so its outcome is not reused
+        checks.size() == 6
+    }
+
+    def "an expression that reads the sibling arguments is checked at each use of a variable"() {
+
+        def directiveRules = DirectiveConstraints.newDirectiveConstraints().build()
+        def sdl = '''
+
+            ''' + directiveRules.directivesSDL + '''
+
+            type Query {
+                search(term : String @Expression(value : "${args.limit <= 10}"), limit : Int) : String
+            }
+        '''
+
+        def runtime = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("search", { env -> "found" }))
+                .directiveWiring(new ValidationSchemaWiring(ValidationRules.newValidationRules()
+                        .validateEachVariableOnce(true)
+                        .build()))
+                .build()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtime)).build()
+
+        when:
+        def er = graphQL.execute(ExecutionInput.newExecutionInput('''
+            query q($term : String) {
+                a : search(term : $term, limit : 1)
+                b : search(term : $term, limit : 100)
+            }
+        ''').variables([term: "car"]).build())
+
+        then:
+        er.data == [a: "found", b: null]
+        er.errors.collect { it.message } == ["/b/term expression must evaluate to true"]
+    }
+
+    def "fields under lists are validated once per set of argument values when asked to"() {
+
+        def graphQL = currencyGraphQL(ValidationRules.newValidationRules()
+                .addRule(currencyRule)
+                .validateEachArgumentSetOnce(true)
+                .build())
+
+        when:
+        def er = graphQL.execute(ExecutionInput.newExecutionInput('''
+            query q($currency : String) {
+                cars {
+                    eur : price(currency : "EUR")
+                    gbp : price(currency : "GBP")
+                    alsoEur : price(currency : $currency)
+                }
+            }
+        ''').variables([currency: "EUR"]).build())
+
+        then:
+        er.errors.isEmpty()
+        er.data.cars.size() == 3
+        checks == ["/cars[0]/eur/currency", "/cars[0]/gbp/currency"]
+
+        when:
+        checks.clear()
+        er = graphQL.execute('{ cars { price(currency : "USD") } }')
+
+        then:
+        er.errors.collect { it.message } == ["/cars[0]/price/currency is not supported", "/cars[1]/price/currency is not supported",
+                                             "/cars[2]/price/currency is not supported"]
+        checks.size() == 3
+    }
+
+    def "the fields of a subscription are validated for its first event when asked to"() {
+
+        def graphQL = currencyGraphQL(ValidationRules.newValidationRules()
+                .addRule(currencyRule)
+                .cacheSubscriptionValidation(true)
+                .build())
+
+        when:
+        def events = subscribe(graphQL, 'subscription { carAdded { price(currency : "EUR") } }')
+
+        then:
+        events.collect { it.data } == [[carAdded: [price: 10]], [carAdded: [price: 10]], [carAdded: [price: 10]]]
+        checks == ["/carAdded/price/currency"]
+
+        when:
+        checks.clear()
+        events = subscribe(graphQL, 'subscription { carAdded { price(currency : "USD") } }')
+
+        then:
+        events.collect { it.errors.collect { it.message } } == [["/carAdded/price/currency is not supported"]] * 3
+        checks == ["/carAdded/price/currency"]
+    }
+
+    def "the cached fields of a subscription under lists are kept once and errors stay on their own path"() {
+
+        def graphQL = currencyGraphQL(ValidationRules.newValidationRules()
+                .addRule(currencyRule)
+                .cacheSubscriptionValidation(true)
+                .build())
+
+        when:
+        def events = subscribe(graphQL, 'subscription { carsAdded { price(currency : "EUR") } }')
+
+        then:
+        events.collect { it.data } == [[carsAdded: [[price: 10]]], [carsAdded: [[price: 10]] * 2], [carsAdded: [[price: 10]] * 3]]
+        // the outcome is kept for the field once, whatever the length of the lists
+        checks == ["/carsAdded[0]/price/currency"]
+
+        when:
+        events = subscribe(graphQL, 'subscription { carsAdded { price(currency : "USD") } }')
+
+        then:
+        events.collect { it.errors.collect { it.message } } == [
+                ["/carsAdded[0]/price/currency is not supported"],
+                ["/carsAdded[0]/price/currency is not supported", "/carsAdded[1]/price/currency is not supported"],
+                ["/carsAdded[0]/price/currency is not supported", "/carsAdded[1]/price/currency is not supported", "/carsAdded[2]/price/currency is not supported"]]
+    }
+
+    def "the cached fields of a subscription are kept per argument values"() {
+
+        def graphQL = currencyGraphQL(ValidationRules.newValidationRules()
+                .addRule(currencyRule)
+                .cacheSubscriptionValidation(true)
+                .build())
+
+        when:
+        def events = subscribe(graphQL, '''
+            subscription {
+                dealersAdded {
+                    ... on NewCarDealer {
+                        stock {
+                            price(currency : "EUR")
+                        }
+                    }
+                    ... on UsedCarDealer {
+                        stock {
+                            price(currency : "USD")
+                        }
+                    }
+                }
+            }
+        ''')
+
+        then:
+        // both fields are Car.price at /dealersAdded/stock/price and only their literals tell them apart
+        events.collect { it.data } == [[dealersAdded: [[stock: [[price: 10]]], [stock: [[price: null]]]]]] * 2
+        events.collect { it.errors.collect { it.message } } == [["/dealersAdded[1]/stock[0]/price/currency is not supported"]] * 2
+        checks == ["/dealersAdded[0]/stock[0]/price/currency", "/dealersAdded[1]/stock[0]/price/currency"]
+    }
+}
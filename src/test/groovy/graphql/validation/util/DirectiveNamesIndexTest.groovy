@@ -0,0 +1,68 @@
+package graphql.validation.util
+
+
+import graphql.schema.GraphQLInputObjectType
+import graphql.schema.GraphQLObjectType
+import graphql.validation.TestUtil
+import spock.lang.Specification
+
+class DirectiveNamesIndexTest extends Specification {
+
+    def sdl = """
+            directive @Size(min : Int = 0, max : Int = 2147483647) on ARGUMENT_DEFINITION | INPUT_FIELD_DEFINITION
+            directive @Range(min : Int = 0, max : Int = 2147483647) on ARGUMENT_DEFINITION | INPUT_FIELD_DEFINITION
+            directive @Tagged on INPUT_OBJECT
+
+            input TestInput {
+                name : String @Size(max : 10)
+                list : [TestInput]
+                child : ChildInput
+            }
+
+            input ChildInput {
+                age : Int @Range(max : 100)
+                parent : TestInput
+                tagged : [TaggedInput]
+            }
+
+            input TaggedInput @Tagged {
+                value : String
+            }
+
+            input PlainInput {
+                value : String
+            }
+
+            type Query {
+                f(arg : TestInput, plain : PlainInput, sized : String @Size(max : 5)) : String
+            }
+        """
+
+    def schema = TestUtil.schema(sdl)
+
+    def "can index self referencing types"() {
+        def testInput = schema.getType("TestInput") as GraphQLInputObjectType
+        def childInput = schema.getType("ChildInput") as GraphQLInputObjectType
+
+        expect:
+        DirectiveNamesIndex.reachableDirectiveNames(testInput) == ["Size", "Range", "Tagged"] as Set
+        DirectiveNamesIndex.reachableDirectiveNames(childInput) == ["Size", "Range", "Tagged"] as Set
+        DirectiveNamesIndex.reachableDirectiveNames(schema.getType("TaggedInput") as GraphQLInputObjectType).isEmpty()
+    }
+
+    def "arguments add their own directives"() {
+        def field = (schema.getType("Query") as GraphQLObjectType).getFieldDefinition("f")
+
+        expect:
+        DirectiveNamesIndex.reachableDirectiveNames(field.getArgument("arg")) == ["Size", "Range", "Tagged"] as Set
+        DirectiveNamesIndex.reachableDirectiveNames(field.getArgument("plain")).isEmpty()
+        DirectiveNamesIndex.reachableDirectiveNames(field.getArgument("sized")) == ["Size"] as Set
+    }
+
+    def "an input type is only indexed once"() {
+        def testInput = schema.getType("TestInput") as GraphQLInputObjectType
+
+        expect:
+        DirectiveNamesIndex.reachableDirectiveNames(testInput).is(DirectiveNamesIndex.reachableDirectiveNames(testInput))
+    }
+}